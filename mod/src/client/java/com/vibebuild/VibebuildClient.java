@@ -2,6 +2,7 @@ package com.vibebuild;
 
 import com.vibebuild.network.ActivatePreviewPayload;
 import com.vibebuild.network.CancelPreviewPayload;
+import com.vibebuild.network.GhostChunkPayload;
 import com.vibebuild.network.PreviewReadyPayload;
 import com.vibebuild.preview.GhostRenderer;
 import com.vibebuild.preview.PlacementController;
@@ -24,16 +25,23 @@ public class VibebuildClient implements ClientModInitializer {
         placementController = new PlacementController();
         placementController.registerTick();
 
-        // Packet 1: Build bounds — capture blocks from the build dimension while still there.
+        // Packet 1: Build bounds — the compressed block data follows in GhostChunkPayloads.
         // Received during REVIEWING phase before the player types /vb confirm.
         ClientPlayNetworking.registerGlobalReceiver(
                 PreviewReadyPayload.TYPE,
                 (payload, ctx) -> {
                     ctx.client().execute(() -> {
-                        placementController.captureBlocks(
-                                payload.minX(), payload.minY(), payload.minZ(),
-                                payload.maxX(), payload.maxY(), payload.maxZ()
-                        );
+                        placementController.beginCapture(payload);
+                    });
+                }
+        );
+
+        // Packet 1b: Ghost data chunks — assembled and decoded off the render thread.
+        ClientPlayNetworking.registerGlobalReceiver(
+                GhostChunkPayload.TYPE,
+                (payload, ctx) -> {
+                    ctx.client().execute(() -> {
+                        placementController.acceptChunk(payload);
                     });
                 }
         );
@@ -0,0 +1,424 @@
+package com.vibebuild.preview;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.vibebuild.network.GhostBlocks;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.block.BlockRenderDispatcher;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The ghost's block geometry for one rotation, baked once into flat vertex arrays.
+ *
+ * Baking runs every block through the normal block renderer with a recording
+ * buffer source, so models, tints and render types come out exactly as before.
+ * Vertices are stored relative to the rotated build's corner; drawing replays
+ * them under a single pose, with no model lookups or per-block pose pushes.
+ *
+ * Like chunk meshing, faces that sit against an opaque captured neighbour (or
+ * one the block itself hides, such as glass next to glass) are dropped, and
+ * blocks enclosed on all six sides are not rendered at all.
+ *
+ * Geometry is split into 16³ sections. Sections outside the view are skipped,
+ * and sections further than {@link com.vibebuild.VbConfig#GHOST_LOD_DISTANCE}
+ * draw a single box, textured as their most common solid block, in place of
+ * their blocks.
+ */
+public class GhostMesh {
+
+    private static final int FULL_BRIGHT = 0x00F000F0;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int ALL_FACES = (1 << 6) - 1;
+
+    private final List<Section> sections;
+    private final int vertexCount;
+    private final int culledFaces;
+    private final int hiddenBlocks;
+
+    private GhostMesh(List<Section> sections, int culledFaces, int hiddenBlocks) {
+        this.sections     = sections;
+        this.culledFaces  = culledFaces;
+        this.hiddenBlocks = hiddenBlocks;
+        int n = 0;
+        for (Section section : sections) {
+            for (Layer layer : section.layers) n += layer.size;
+        }
+        this.vertexCount = n;
+    }
+
+    /** Bakes the ghost's blocks as they appear after {@code rotationSteps} clockwise quarter turns. */
+    public static GhostMesh bake(GhostPreview ghost, int rotationSteps) {
+        BlockRenderDispatcher dispatcher = Minecraft.getInstance().getBlockRenderer();
+
+        // One buffer target per render type, shared by every section
+        Map<Object, Function<MultiBufferSource, VertexConsumer>> targets = new IdentityHashMap<>();
+        Baker baker = new Baker(ghost, rotationSteps & 3, dispatcher);
+        MultiBufferSource recorder = type -> baker.current.layerFor(type,
+                targets.computeIfAbsent(type, t -> buffers -> buffers.getBuffer(type)));
+        baker.recorder = recorder;
+
+        ghost.blocks.forEach(baker);
+
+        List<Section> sections = new ArrayList<>(baker.sections.values());
+        for (Section section : sections) {
+            baker.bakeStandIn(section);
+            section.trim();
+        }
+        return new GhostMesh(sections, baker.culled, baker.hidden);
+    }
+
+    /** Where the camera is and what it can see, in the mesh's local (corner-relative) coordinates. */
+    public record View(double camX, double camY, double camZ,
+                       double lookX, double lookY, double lookZ,
+                       double halfAngle, double lodDistance) {}
+
+    /**
+     * Replays the baked vertices of every section in view; {@code pose} should already
+     * be translated to the ghost's corner.
+     */
+    public void render(PoseStack.Pose pose, MultiBufferSource buffers, View view) {
+        for (Section section : sections) {
+            double dx = section.centerX - view.camX();
+            double dy = section.centerY - view.camY();
+            double dz = section.centerZ - view.camZ();
+            double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+            if (!inView(view, dx, dy, dz, dist, section.radius)) continue;
+
+            boolean far = dist - section.radius > view.lodDistance() && !section.standIn.isEmpty();
+            replay(far ? section.standIn : section.layers, pose, buffers);
+        }
+    }
+
+    /** Bounding-sphere test against a cone that encloses the view frustum. */
+    private static boolean inView(View view, double dx, double dy, double dz, double dist, double radius) {
+        if (dist <= radius) return true;
+        double cos = (dx * view.lookX() + dy * view.lookY() + dz * view.lookZ()) / dist;
+        double angle = Math.acos(Math.max(-1, Math.min(1, cos)));
+        return angle <= view.halfAngle() + Math.asin(radius / dist);
+    }
+
+    private static void replay(List<Layer> layers, PoseStack.Pose pose, MultiBufferSource buffers) {
+        for (Layer layer : layers) {
+            VertexConsumer out = layer.target.apply(buffers);
+            float[] f = layer.floats;
+            int[] i = layer.ints;
+            for (int v = 0; v < layer.size; v++) {
+                int fo = v * Layer.FLOATS;
+                int io = v * Layer.INTS;
+                out.addVertex(pose, f[fo], f[fo + 1], f[fo + 2])
+                        .setColor(i[io])
+                        .setUv(f[fo + 3], f[fo + 4])
+                        .setUv1(i[io + 1] & 0xFFFF, i[io + 1] >>> 16)
+                        .setUv2(i[io + 2] & 0xFFFF, i[io + 2] >>> 16)
+                        .setNormal(pose, f[fo + 5], f[fo + 6], f[fo + 7]);
+            }
+        }
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    /** Faces dropped because a captured neighbour hides them (six per fully enclosed block). */
+    public int getCulledFaces() {
+        return culledFaces;
+    }
+
+    /** Blocks skipped entirely because every face was hidden. */
+    public int getHiddenBlocks() {
+        return hiddenBlocks;
+    }
+
+    /** One 16³ cell of the rotated build: full geometry plus a single-box stand-in. */
+    private static final class Section {
+
+        final List<Layer> layers  = new ArrayList<>();
+        final List<Layer> standIn = new ArrayList<>();
+        private final Map<Object, Layer> byType = new IdentityHashMap<>();
+        private boolean recordingStandIn = false;
+
+        // Occupied bounds in local block coordinates (inclusive)
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        double centerX, centerY, centerZ, radius;
+
+        /** Block counts used to pick the stand-in's look; dropped after baking. */
+        Reference2IntOpenHashMap<BlockState> counts = new Reference2IntOpenHashMap<>();
+
+        Layer layerFor(Object type, Function<MultiBufferSource, VertexConsumer> target) {
+            if (recordingStandIn) {
+                Layer layer = new Layer(target);
+                standIn.add(layer);
+                return layer;
+            }
+            return byType.computeIfAbsent(type, t -> {
+                Layer layer = new Layer(target);
+                layers.add(layer);
+                return layer;
+            });
+        }
+
+        void include(int x, int y, int z, BlockState state) {
+            minX = Math.min(minX, x); maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y); maxY = Math.max(maxY, y);
+            minZ = Math.min(minZ, z); maxZ = Math.max(maxZ, z);
+            counts.addTo(state, 1);
+        }
+
+        /** Most common solid-render block, or the most common block if none is solid. */
+        BlockState dominant() {
+            BlockState best = null, bestSolid = null;
+            int bestCount = 0, bestSolidCount = 0;
+            for (Reference2IntMap.Entry<BlockState> e : counts.reference2IntEntrySet()) {
+                int n = e.getIntValue();
+                if (n > bestCount) { best = e.getKey(); bestCount = n; }
+                if (n > bestSolidCount && e.getKey().isSolidRender()) { bestSolid = e.getKey(); bestSolidCount = n; }
+            }
+            return bestSolid != null ? bestSolid : best;
+        }
+
+        void trim() {
+            for (Layer layer : layers)  layer.trim();
+            for (Layer layer : standIn) layer.trim();
+            centerX = (minX + maxX + 1) / 2.0;
+            centerY = (minY + maxY + 1) / 2.0;
+            centerZ = (minZ + maxZ + 1) / 2.0;
+            double ex = maxX + 1 - minX, ey = maxY + 1 - minY, ez = maxZ + 1 - minZ;
+            radius = Math.sqrt(ex * ex + ey * ey + ez * ez) / 2.0;
+            counts = null;
+        }
+    }
+
+    /** Visits each captured block once, rendering it into its section and culling hidden faces. */
+    private static final class Baker implements GhostBlocks.BlockVisitor {
+
+        private final GhostPreview ghost;
+        private final int rotationSteps;
+        private final BlockRenderDispatcher dispatcher;
+        private final PoseStack poseStack = new PoseStack();
+        final Long2ObjectOpenHashMap<Section> sections = new Long2ObjectOpenHashMap<>();
+
+        MultiBufferSource recorder;
+        Section current;
+        int culled = 0;
+        int hidden = 0;
+
+        Baker(GhostPreview ghost, int rotationSteps, BlockRenderDispatcher dispatcher) {
+            this.ghost         = ghost;
+            this.rotationSteps = rotationSteps;
+            this.dispatcher    = dispatcher;
+        }
+
+        @Override
+        public void accept(int relX, int relY, int relZ, BlockState state) {
+            int x, z;
+            switch (rotationSteps) {
+                case 1  -> { x = ghost.sizeZ - 1 - relZ; z = relX; }
+                case 2  -> { x = ghost.sizeX - 1 - relX; z = ghost.sizeZ - 1 - relZ; }
+                case 3  -> { x = relZ;                   z = ghost.sizeX - 1 - relX; }
+                default -> { x = relX;                   z = relZ; }
+            }
+
+            current = sections.computeIfAbsent(SectionPos.asLong(x >> 4, relY >> 4, z >> 4), k -> new Section());
+            current.include(x, relY, z, state);
+
+            int hiddenFaces = hiddenFaces(relX, relY, relZ, state);
+            if (hiddenFaces == ALL_FACES) {
+                culled += 6;
+                hidden++;
+                return;
+            }
+
+            for (Layer layer : current.layers) layer.blockStart = layer.size;
+
+            poseStack.pushPose();
+            poseStack.translate(x, relY, z);
+            dispatcher.renderSingleBlock(state, poseStack, recorder, FULL_BRIGHT, 0);
+            poseStack.popPose();
+
+            if (hiddenFaces != 0) {
+                for (Layer layer : current.layers) culled += layer.cullBlockQuads(hiddenFaces, x, relY, z);
+            }
+        }
+
+        /** Records the section's far stand-in: its dominant block stretched over its occupied bounds. */
+        void bakeStandIn(Section section) {
+            BlockState look = section.dominant();
+            if (look == null) return;
+
+            current = section;
+            section.recordingStandIn = true;
+            poseStack.pushPose();
+            poseStack.translate(section.minX, section.minY, section.minZ);
+            poseStack.scale(section.maxX + 1 - section.minX, section.maxY + 1 - section.minY, section.maxZ + 1 - section.minZ);
+            dispatcher.renderSingleBlock(look, poseStack, recorder, FULL_BRIGHT, 0);
+            poseStack.popPose();
+            section.recordingStandIn = false;
+        }
+
+        /**
+         * Bit mask of the faces (indexed by the rotated {@link Direction}) that sit against
+         * a captured neighbour hiding them. Neighbours are looked up in capture space.
+         */
+        private int hiddenFaces(int relX, int relY, int relZ, BlockState state) {
+            int mask = 0;
+            for (Direction dir : DIRECTIONS) {
+                BlockState neighbour = ghost.blocks.get(relX + dir.getStepX(), relY + dir.getStepY(), relZ + dir.getStepZ());
+                if (neighbour == null) continue;
+                if (neighbour.isSolidRender() || state.skipRendering(neighbour, dir)) {
+                    Direction rotated = dir;
+                    if (dir.getAxis() != Direction.Axis.Y) {
+                        for (int i = 0; i < rotationSteps; i++) rotated = rotated.getClockWise();
+                    }
+                    mask |= 1 << rotated.ordinal();
+                }
+            }
+            return mask;
+        }
+    }
+
+    /**
+     * Vertices recorded for one render type. Per vertex: x, y, z, u, v, nx, ny, nz
+     * as floats and packed colour, overlay and light as ints.
+     */
+    private static final class Layer implements VertexConsumer {
+
+        static final int FLOATS = 8;
+        static final int INTS   = 3;
+
+        final Function<MultiBufferSource, VertexConsumer> target;
+        float[] floats = new float[FLOATS * 256];
+        int[] ints     = new int[INTS * 256];
+        int size = 0;
+        int blockStart = 0;   // first vertex recorded for the block being baked
+
+        Layer(Function<MultiBufferSource, VertexConsumer> target) {
+            this.target = target;
+        }
+
+        private int fo() { return (size - 1) * FLOATS; }
+        private int io() { return (size - 1) * INTS; }
+
+        @Override
+        public VertexConsumer addVertex(float x, float y, float z) {
+            if (size * FLOATS == floats.length) {
+                floats = Arrays.copyOf(floats, floats.length * 2);
+                ints   = Arrays.copyOf(ints, ints.length * 2);
+            }
+            size++;
+            int fo = fo();
+            floats[fo]     = x;
+            floats[fo + 1] = y;
+            floats[fo + 2] = z;
+            ints[io()]     = 0xFFFFFFFF;
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setColor(int red, int green, int blue, int alpha) {
+            ints[io()] = (alpha & 0xFF) << 24 | (red & 0xFF) << 16 | (green & 0xFF) << 8 | (blue & 0xFF);
+            return this;
+        }
+
+        public VertexConsumer setColor(int argb) {
+            ints[io()] = argb;
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv(float u, float v) {
+            floats[fo() + 3] = u;
+            floats[fo() + 4] = v;
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv1(int u, int v) {
+            ints[io() + 1] = (u & 0xFFFF) | (v << 16);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv2(int u, int v) {
+            ints[io() + 2] = (u & 0xFFFF) | (v << 16);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setNormal(float x, float y, float z) {
+            floats[fo() + 5] = x;
+            floats[fo() + 6] = y;
+            floats[fo() + 7] = z;
+            return this;
+        }
+
+        public VertexConsumer setLineWidth(float width) {
+            return this;
+        }
+
+        /**
+         * Drops the current block's quads that lie flat on a hidden face of the unit
+         * cube at (bx, by, bz). Returns the number of quads dropped.
+         */
+        int cullBlockQuads(int hiddenFaces, int bx, int by, int bz) {
+            int write = blockStart;
+            int dropped = 0;
+            for (int q = blockStart; q + 4 <= size; q += 4) {
+                if (onHiddenFace(q, hiddenFaces, bx, by, bz)) {
+                    dropped++;
+                    continue;
+                }
+                if (write != q) {
+                    System.arraycopy(floats, q * FLOATS, floats, write * FLOATS, 4 * FLOATS);
+                    System.arraycopy(ints, q * INTS, ints, write * INTS, 4 * INTS);
+                }
+                write += 4;
+            }
+            size = write;
+            return dropped;
+        }
+
+        private boolean onHiddenFace(int quad, int hiddenFaces, int bx, int by, int bz) {
+            int fo = quad * FLOATS;
+            for (Direction dir : DIRECTIONS) {
+                if ((hiddenFaces & (1 << dir.ordinal())) == 0) continue;
+
+                int axis = dir.getAxis().ordinal();   // X=0, Y=1, Z=2, matching the float layout
+                int sign = dir.getAxisDirection().getStep();
+                if (floats[fo + 5 + axis] * sign < 0.9f) continue;
+
+                float plane = (axis == 0 ? bx : axis == 1 ? by : bz) + (sign > 0 ? 1 : 0);
+                boolean flat = true;
+                for (int v = 0; v < 4 && flat; v++) {
+                    flat = Math.abs(floats[fo + v * FLOATS + axis] - plane) < 1.0e-4f;
+                }
+                if (flat) return true;
+            }
+            return false;
+        }
+
+        void trim() {
+            floats = Arrays.copyOf(floats, size * FLOATS);
+            ints   = Arrays.copyOf(ints, size * INTS);
+        }
+    }
+}
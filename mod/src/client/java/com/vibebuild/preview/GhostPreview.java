@@ -1,12 +1,13 @@
 package com.vibebuild.preview;
 
+import com.vibebuild.network.GhostBlocks;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
 
-import java.util.Map;
-
 /**
  * Holds captured block data and current placement state for the ghost preview.
  * Block data is captured from the build dimension before teleporting back.
@@ -16,8 +17,8 @@ import java.util.Map;
  */
 public class GhostPreview {
 
-    /** Captured blocks relative to (0,0,0). Key = relative position, Value = block state. */
-    public final Map<BlockPos, BlockState> blocks;
+    /** Captured blocks relative to (0,0,0). */
+    public final GhostBlocks blocks;
 
     /** Size of the captured build. */
     public final int sizeX, sizeY, sizeZ;
@@ -31,11 +32,11 @@ public class GhostPreview {
     /** Manual Y offset added by PgUp/PgDn, preserved across raycasts. */
     private int yOffset = 0;
 
-    public GhostPreview(Map<BlockPos, BlockState> blocks, int sizeX, int sizeY, int sizeZ, BlockPos initialPos) {
+    public GhostPreview(GhostBlocks blocks, BlockPos initialPos) {
         this.blocks = blocks;
-        this.sizeX  = sizeX;
-        this.sizeY  = sizeY;
-        this.sizeZ  = sizeZ;
+        this.sizeX  = blocks.sizeX;
+        this.sizeY  = blocks.sizeY;
+        this.sizeZ  = blocks.sizeZ;
         this.placementPos = initialPos;
     }
 
@@ -54,31 +55,36 @@ public class GhostPreview {
     /**
      * Raycast from the player's eye position to find the first solid block,
      * then center the build on that hit point (XZ centered, Y on top of hit block).
+     *
+     * The ray is only recast when the eye or look direction moved, the hit block
+     * changed, a chunk along the ray finished loading, or the last cast is a
+     * second old (to notice blocks placed into the ray).
      */
     public void snapToLook(Vec3 eyePos, Vec3 lookDir, int maxDist) {
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null) return;
 
-        // Step along the ray in 0.5-block increments
-        BlockPos lastAir = BlockPos.containing(eyePos);
-        for (int i = 1; i <= maxDist * 2; i++) {
-            double t = i * 0.5;
-            BlockPos check = BlockPos.containing(
-                    eyePos.x + lookDir.x * t,
-                    eyePos.y + lookDir.y * t,
-                    eyePos.z + lookDir.z * t);
-
-            BlockState state = mc.level.getBlockState(check);
-            if (!state.isAir() && state.getFluidState().isEmpty()) {
-                // Found ground — place build centered on the block ABOVE the hit (lastAir)
-                // so the build sits on the surface.
-                placementPos = new BlockPos(lastAir.getX(), lastAir.getY() + yOffset, lastAir.getZ());
-                return;
-            }
-            lastAir = check;
+        if (rayStillValid(mc, eyePos, lookDir, maxDist)) return;
+
+        castEye  = eyePos;
+        castLook = lookDir;
+        castDist = maxDist;
+        castAge  = 0;
+        castChunkCount = 0;
+        castChunksLoaded = 0;
+
+        int[] hit = raycast(mc, eyePos, lookDir, maxDist);
+        if (hit != null) {
+            // Found ground — place build centered on the block ABOVE the hit (lastAir)
+            // so the build sits on the surface.
+            castHit.set(hit[3], hit[4], hit[5]);
+            castHitState = mc.level.getBlockState(castHit);
+            placementPos = new BlockPos(hit[0], hit[1] + yOffset, hit[2]);
+            return;
         }
 
         // No ground found — place at max distance
+        castHitState = null;
         BlockPos farBlock = BlockPos.containing(
                 eyePos.x + lookDir.x * maxDist,
                 eyePos.y + lookDir.y * maxDist,
@@ -86,6 +92,81 @@ public class GhostPreview {
         placementPos = new BlockPos(farBlock.getX(), farBlock.getY() + yOffset, farBlock.getZ());
     }
 
+    // ── Raycast ──
+
+    /** Ticks a cached cast is trusted before it is redone regardless. */
+    private static final int CAST_MAX_AGE = 20;
+    /** Distinct chunks a cast can record (a 40-block ray crosses at most a handful). */
+    private static final int CAST_MAX_CHUNKS = 16;
+
+    private Vec3 castEye, castLook;
+    private int castDist;
+    private int castAge;
+    private final BlockPos.MutableBlockPos castHit = new BlockPos.MutableBlockPos();
+    private BlockState castHitState;
+    private final long[] castChunks = new long[CAST_MAX_CHUNKS];
+    private int castChunkCount;
+    private int castChunksLoaded;   // bit i set if castChunks[i] was loaded at cast time
+
+    private boolean rayStillValid(Minecraft mc, Vec3 eyePos, Vec3 lookDir, int maxDist) {
+        if (castEye == null || !castEye.equals(eyePos) || !castLook.equals(lookDir) || castDist != maxDist) return false;
+        if (++castAge >= CAST_MAX_AGE) return false;
+        if (castHitState != null && mc.level.getBlockState(castHit) != castHitState) return false;
+        for (int i = 0; i < castChunkCount; i++) {
+            boolean loaded = mc.level.hasChunk(ChunkPos.getX(castChunks[i]), ChunkPos.getZ(castChunks[i]));
+            if (loaded != ((castChunksLoaded & (1 << i)) != 0)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Amanatides–Woo voxel traversal: visits every block the ray passes through exactly
+     * once, in order. Returns {lastAirX, lastAirY, lastAirZ, hitX, hitY, hitZ}, or null
+     * if nothing solid is within {@code maxDist}.
+     */
+    private int[] raycast(Minecraft mc, Vec3 eye, Vec3 dir, int maxDist) {
+        int x = Mth.floor(eye.x), y = Mth.floor(eye.y), z = Mth.floor(eye.z);
+        int stepX = dir.x > 0 ? 1 : dir.x < 0 ? -1 : 0;
+        int stepY = dir.y > 0 ? 1 : dir.y < 0 ? -1 : 0;
+        int stepZ = dir.z > 0 ? 1 : dir.z < 0 ? -1 : 0;
+
+        double tDeltaX = stepX != 0 ? Math.abs(1.0 / dir.x) : Double.POSITIVE_INFINITY;
+        double tDeltaY = stepY != 0 ? Math.abs(1.0 / dir.y) : Double.POSITIVE_INFINITY;
+        double tDeltaZ = stepZ != 0 ? Math.abs(1.0 / dir.z) : Double.POSITIVE_INFINITY;
+        double tMaxX = stepX > 0 ? (x + 1 - eye.x) * tDeltaX : stepX < 0 ? (eye.x - x) * tDeltaX : Double.POSITIVE_INFINITY;
+        double tMaxY = stepY > 0 ? (y + 1 - eye.y) * tDeltaY : stepY < 0 ? (eye.y - y) * tDeltaY : Double.POSITIVE_INFINITY;
+        double tMaxZ = stepZ > 0 ? (z + 1 - eye.z) * tDeltaZ : stepZ < 0 ? (eye.z - z) * tDeltaZ : Double.POSITIVE_INFINITY;
+
+        // t is in multiples of dir; convert the block distance limit accordingly
+        double len = dir.length();
+        double limit = len > 0 ? maxDist / len : 0;
+
+        BlockPos.MutableBlockPos check = new BlockPos.MutableBlockPos();
+        recordChunk(mc, x >> 4, z >> 4);
+        while (true) {
+            int lastX = x, lastY = y, lastZ = z;
+            double t;
+            if (tMaxX <= tMaxY && tMaxX <= tMaxZ) { t = tMaxX; x += stepX; tMaxX += tDeltaX; }
+            else if (tMaxY <= tMaxZ)              { t = tMaxY; y += stepY; tMaxY += tDeltaY; }
+            else                                  { t = tMaxZ; z += stepZ; tMaxZ += tDeltaZ; }
+            if (t > limit) return null;
+
+            recordChunk(mc, x >> 4, z >> 4);
+            BlockState state = mc.level.getBlockState(check.set(x, y, z));
+            if (!state.isAir() && state.getFluidState().isEmpty()) {
+                return new int[]{lastX, lastY, lastZ, x, y, z};
+            }
+        }
+    }
+
+    private void recordChunk(Minecraft mc, int chunkX, int chunkZ) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (castChunkCount > 0 && castChunks[castChunkCount - 1] == key) return;
+        if (castChunkCount == CAST_MAX_CHUNKS) return;
+        if (mc.level.hasChunk(chunkX, chunkZ)) castChunksLoaded |= 1 << castChunkCount;
+        castChunks[castChunkCount++] = key;
+    }
+
     /** Get the effective rotated size X (accounting for rotation). */
     public int getRotatedSizeX() {
         return (rotationSteps % 2 == 0) ? sizeX : sizeZ;
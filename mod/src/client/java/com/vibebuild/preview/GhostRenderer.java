@@ -1,22 +1,34 @@
 package com.vibebuild.preview;
 
 import com.mojang.blaze3d.vertex.PoseStack;
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
 import net.fabricmc.fabric.api.client.rendering.v1.world.WorldRenderContext;
+import net.minecraft.client.Camera;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.MultiBufferSource;
-import net.minecraft.client.renderer.block.BlockRenderDispatcher;
 import net.minecraft.core.BlockPos;
-import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
+import org.joml.Vector3fc;
 
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Renders a translucent ghost of captured blocks at the current placement position.
  * Registered via WorldRenderEvents.END_MAIN in VibebuildClient.
+ *
+ * The blocks are baked into a {@link GhostMesh} per rotation the first time that
+ * rotation is shown; each frame only replays the current mesh's visible sections
+ * at the corner.
  */
 public class GhostRenderer {
 
+    private static final double FOV_MARGIN = 1.25;
+
+    /** Ghost the cached meshes belong to; a new ghost drops the cache. */
+    private static GhostPreview meshOwner;
+    private static final GhostMesh[] meshes = new GhostMesh[4];
+
     /**
      * Called every frame by the world render callback.
      */
@@ -26,65 +38,61 @@ public class GhostRenderer {
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null || mc.player == null) return;
 
-        // Corner position derived from center-bottom placement pos
-        BlockPos corner = ghost.getCornerPos();
-
-        // Center of rotation in relative coords (center of the build XZ, bottom Y=0)
-        double centerRelX = (ghost.sizeX - 1) / 2.0;
-        double centerRelZ = (ghost.sizeZ - 1) / 2.0;
-
         PoseStack poseStack = ctx.matrices();
         MultiBufferSource buffers = ctx.consumers();
         if (poseStack == null || buffers == null) return;
 
-        Vec3 cam = mc.gameRenderer.getMainCamera().position();
-        poseStack.pushPose();
-        poseStack.translate(-cam.x, -cam.y, -cam.z);
-
-        BlockRenderDispatcher dispatcher = mc.getBlockRenderer();
-
-        for (Map.Entry<BlockPos, BlockState> entry : ghost.blocks.entrySet()) {
-            BlockPos relPos = entry.getKey();
-            BlockState state = entry.getValue();
-
-            double relX = relPos.getX();
-            double relY = relPos.getY();
-            double relZ = relPos.getZ();
-
-            // Rotate around center of build
-            double dx = relX - centerRelX;
-            double dz = relZ - centerRelZ;
-            double[] rotated = rotateXZ(dx, dz, ghost.rotationSteps);
-
-            // Map back: corner + center + rotated offset
-            int worldX = corner.getX() + (int) Math.round(rotated[0] + (ghost.getRotatedSizeX() - 1) / 2.0);
-            int worldY = corner.getY() + (int) relY;
-            int worldZ = corner.getZ() + (int) Math.round(rotated[1] + (ghost.getRotatedSizeZ() - 1) / 2.0);
+        GhostMesh mesh = meshFor(ghost, ghost.rotationSteps);
 
-            poseStack.pushPose();
-            poseStack.translate(worldX, worldY, worldZ);
+        // Corner position derived from center-bottom placement pos
+        BlockPos corner = ghost.getCornerPos();
+        Camera camera = mc.gameRenderer.getMainCamera();
+        Vec3 cam = camera.position();
 
-            dispatcher.renderSingleBlock(
-                    state,
-                    poseStack,
-                    buffers,
-                    0x00F000F0,   // full-bright lighting
-                    0             // no overlay
-            );
+        poseStack.pushPose();
+        poseStack.translate(corner.getX() - cam.x, corner.getY() - cam.y, corner.getZ() - cam.z);
+        mesh.render(poseStack.last(), buffers, view(mc, camera, cam, corner));
+        poseStack.popPose();
+    }
 
-            poseStack.popPose();
-        }
+    /**
+     * Camera position and view cone in the mesh's corner-relative coordinates.
+     * The direction is the camera's, not the player's: they differ in third-person
+     * front view and when spectating another entity.
+     */
+    private static GhostMesh.View view(Minecraft mc, Camera camera, Vec3 cam, BlockPos corner) {
+        Vector3fc look = camera.forwardVector();
+
+        // Cone around the frustum's corners, with headroom for FOV effects (sprinting, speed)
+        double vfov   = Math.toRadians(mc.options.fov().get()) * FOV_MARGIN;
+        double aspect = (double) mc.getWindow().getWidth() / Math.max(1, mc.getWindow().getHeight());
+        double half   = Math.atan(Math.tan(vfov / 2) * Math.sqrt(1 + aspect * aspect));
+
+        return new GhostMesh.View(
+                cam.x - corner.getX(), cam.y - corner.getY(), cam.z - corner.getZ(),
+                look.x(), look.y(), look.z(),
+                Math.min(Math.PI, half), VbConfig.GHOST_LOD_DISTANCE);
+    }
 
-        poseStack.popPose();
+    /** Drops the cached meshes (e.g. when the preview ends). */
+    public static void clearCache() {
+        meshOwner = null;
+        Arrays.fill(meshes, null);
     }
 
-    /** Rotate (dx, dz) around origin by 90-degree steps clockwise. */
-    private static double[] rotateXZ(double dx, double dz, int steps) {
-        for (int i = 0; i < steps; i++) {
-            double tmp = dx;
-            dx = -dz;
-            dz = tmp;
+    private static GhostMesh meshFor(GhostPreview ghost, int rotationSteps) {
+        if (meshOwner != ghost) {
+            clearCache();
+            meshOwner = ghost;
+        }
+        int r = rotationSteps & 3;
+        if (meshes[r] == null) {
+            long start = System.nanoTime();
+            meshes[r] = GhostMesh.bake(ghost, r);
+            Vibebuild.LOGGER.info("[VB] Baked ghost mesh for rotation {}: {} blocks ({} hidden), {} vertices in {} sections, {} faces culled in {} ms",
+                    r * 90, ghost.blocks.size(), meshes[r].getHiddenBlocks(), meshes[r].getVertexCount(),
+                    meshes[r].getSectionCount(), meshes[r].getCulledFaces(), (System.nanoTime() - start) / 1_000_000);
         }
-        return new double[]{dx, dz};
+        return meshes[r];
     }
 }
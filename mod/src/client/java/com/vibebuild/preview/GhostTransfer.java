@@ -0,0 +1,72 @@
+package com.vibebuild.preview;
+
+import com.vibebuild.Vibebuild;
+import com.vibebuild.network.GhostBlocks;
+import com.vibebuild.network.GhostChunkPayload;
+import com.vibebuild.network.GhostDataCodec;
+import com.vibebuild.network.PreviewReadyPayload;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Collects the {@link GhostChunkPayload}s of one ghost transfer and, once all
+ * have arrived, inflates and decodes them on a background thread.
+ */
+public class GhostTransfer {
+
+    private static final ExecutorService DECODER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "VibeBuild Ghost Decode");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final PreviewReadyPayload header;
+    private final byte[][] chunks;
+    private int received = 0;
+    private long bytes = 0;
+
+    public GhostTransfer(PreviewReadyPayload header) {
+        this.header = header;
+        this.chunks = new byte[header.chunkCount()][];
+    }
+
+    public PreviewReadyPayload getHeader() { return header; }
+
+    /** Stores one chunk. Returns true once every chunk of the transfer is present. */
+    public boolean accept(GhostChunkPayload chunk) {
+        if (chunk.transferId() != header.transferId()) return false;
+        if (chunk.index() < 0 || chunk.index() >= chunks.length || chunks[chunk.index()] != null) return false;
+
+        chunks[chunk.index()] = chunk.data();
+        received++;
+        bytes += chunk.data().length;
+        return isComplete();
+    }
+
+    public boolean isComplete() {
+        return received == chunks.length;
+    }
+
+    /** Joins the chunks and decodes them off the calling thread. */
+    public CompletableFuture<GhostBlocks> decodeAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            byte[] joined = new byte[(int) bytes];
+            int off = 0;
+            for (byte[] chunk : chunks) {
+                System.arraycopy(chunk, 0, joined, off, chunk.length);
+                off += chunk.length;
+            }
+            try {
+                GhostBlocks data = GhostDataCodec.decode(joined);
+                Vibebuild.LOGGER.info("[VB] Decoded ghost data: {} blocks from {} KB in {} ms",
+                        data.size(), bytes / 1024, (System.nanoTime() - start) / 1_000_000);
+                return data;
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not decode ghost data: " + e.getMessage(), e);
+            }
+        }, DECODER);
+    }
+}
@@ -1,5 +1,8 @@
 package com.vibebuild.preview;
 
+import com.vibebuild.network.GhostBlocks;
+import com.vibebuild.network.GhostChunkPayload;
+import com.vibebuild.network.PreviewReadyPayload;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.minecraft.ChatFormatting;
@@ -8,13 +11,9 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
-import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
 import org.lwjgl.glfw.GLFW;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Handles player input during ghost-preview mode.
  *
@@ -36,9 +35,13 @@ public class PlacementController {
     private GhostPreview ghost;
     private boolean active = false;
 
+    /** Block data still arriving from the server, or null. */
+    private GhostTransfer transfer;
+    /** Start position of an activation that arrived before the block data finished decoding. */
+    private BlockPos pendingActivation;
+
     /** Captured blocks from the build dimension, held here until ghost is activated after teleport. */
-    private Map<BlockPos, BlockState> capturedBlocks;
-    private int capturedSizeX, capturedSizeY, capturedSizeZ;
+    private GhostBlocks capturedBlocks;
     /** The min corner of the build in the build dimension (used to compute paste offset). */
     private int capturedMinX, capturedMinY, capturedMinZ;
 
@@ -92,37 +95,45 @@ public class PlacementController {
     }
 
     /**
-     * Captures blocks from the build dimension while the player is still there.
+     * Starts receiving the build's block data from the server.
      * Called when the PreviewReadyPayload is received during REVIEWING phase.
      */
-    public void captureBlocks(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
-        if (mc.level == null) return;
-
-        Map<BlockPos, BlockState> blocks = new HashMap<>();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    BlockPos pos = new BlockPos(x, y, z);
-                    BlockState state = mc.level.getBlockState(pos);
-                    if (!state.isAir()) {
-                        // Store relative to min corner
-                        BlockPos relPos = new BlockPos(x - minX, y - minY, z - minZ);
-                        blocks.put(relPos, state);
-                    }
-                }
-            }
-        }
+    public void beginCapture(PreviewReadyPayload header) {
+        this.transfer          = new GhostTransfer(header);
+        this.capturedBlocks    = null;
+        this.pendingActivation = null;
+        this.capturedMinX      = header.minX();
+        this.capturedMinY      = header.minY();
+        this.capturedMinZ      = header.minZ();
+        if (header.chunkCount() == 0) transfer = null;
+    }
+
+    /** Adds one chunk of block data; decodes off-thread once the transfer is complete. */
+    public void acceptChunk(GhostChunkPayload chunk) {
+        GhostTransfer current = transfer;
+        if (current == null || !current.accept(chunk)) return;
 
-        this.capturedBlocks = blocks;
-        this.capturedSizeX  = maxX - minX + 1;
-        this.capturedSizeY  = maxY - minY + 1;
-        this.capturedSizeZ  = maxZ - minZ + 1;
-        this.capturedMinX   = minX;
-        this.capturedMinY   = minY;
-        this.capturedMinZ   = minZ;
+        current.decodeAsync().whenCompleteAsync((data, error) -> {
+            if (transfer != current) return;   // superseded by a newer build
+            transfer = null;
 
-        com.vibebuild.Vibebuild.LOGGER.info("[VB] Captured {} blocks from build dimension ({}x{}x{})",
-                blocks.size(), capturedSizeX, capturedSizeY, capturedSizeZ);
+            if (error != null) {
+                com.vibebuild.Vibebuild.LOGGER.error("[VB] Ghost data transfer failed", error);
+            } else {
+                this.capturedBlocks = data;
+
+                com.vibebuild.Vibebuild.LOGGER.info("[VB] Captured {} blocks from build dimension ({}x{}x{}, {} storage, ~{} KB)",
+                        data.size(), data.sizeX, data.sizeY, data.sizeZ,
+                        data.isDense() ? "dense" : "sparse", data.getSizeBytes() / 1024);
+            }
+
+            // /vb confirm raced ahead of the data; activate now that it is here
+            if (pendingActivation != null) {
+                BlockPos pos = pendingActivation;
+                pendingActivation = null;
+                activateFromCapture(pos);
+            }
+        }, mc);
     }
 
     /**
@@ -130,6 +141,10 @@ public class PlacementController {
      * Called after the player is teleported back to their original world.
      */
     public void activateFromCapture(BlockPos startPos) {
+        if (transfer != null) {
+            pendingActivation = startPos;
+            return;
+        }
         if (capturedBlocks == null || capturedBlocks.isEmpty()) {
             if (mc.player != null) {
                 mc.player.displayClientMessage(vbMsg("No blocks captured for preview."), false);
@@ -137,7 +152,7 @@ public class PlacementController {
             return;
         }
 
-        this.ghost  = new GhostPreview(capturedBlocks, capturedSizeX, capturedSizeY, capturedSizeZ, startPos);
+        this.ghost  = new GhostPreview(capturedBlocks, startPos);
         this.active = true;
         this.capturedBlocks = null; // release reference
 
@@ -150,9 +165,12 @@ public class PlacementController {
 
     /** Cancels preview mode without placing. */
     public void cancel() {
+        GhostRenderer.clearCache();
         this.ghost  = null;
         this.active = false;
         this.capturedBlocks = null;
+        this.transfer       = null;
+        this.pendingActivation = null;
         if (mc.player != null) {
             mc.player.displayClientMessage(vbMsg("Placement cancelled."), false);
         }
@@ -196,5 +214,6 @@ public class PlacementController {
 
         active = false;
         ghost  = null;
+        GhostRenderer.clearCache();
     }
 }
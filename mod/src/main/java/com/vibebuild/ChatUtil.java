@@ -32,6 +32,18 @@ public final class ChatUtil {
                 .append(Component.literal(text).withStyle(ChatFormatting.GRAY));
     }
 
+    /** Creates an action-bar progress line: [VibeBuild] <label> ■■■■■□□□□□ 50% */
+    public static MutableComponent vbProgress(String label, double fraction) {
+        int width  = 20;
+        int filled = (int) Math.round(Math.max(0, Math.min(1, fraction)) * width);
+        return Component.empty()
+                .append(PREFIX.copy())
+                .append(Component.literal(label + " ").withStyle(ChatFormatting.WHITE))
+                .append(Component.literal("■".repeat(filled)).withStyle(ChatFormatting.GREEN))
+                .append(Component.literal("□".repeat(width - filled)).withStyle(ChatFormatting.DARK_GRAY))
+                .append(Component.literal(" " + Math.round(fraction * 100) + "%").withStyle(ChatFormatting.GRAY));
+    }
+
     /** Creates a prefixed error message: [VibeBuild] <text> in red */
     public static MutableComponent vbError(String text) {
         return Component.empty()
@@ -0,0 +1,57 @@
+package com.vibebuild;
+
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Chunk ticket types used to load chunks ahead of the code that writes into them.
+ * Tickets make the chunk system load and generate off the main thread; by the
+ * time a writer reaches the chunk it is usually already resident.
+ */
+public final class ChunkTickets {
+
+    /** Short-lived ticket for chunks just ahead of a paced paste. Expires on its own after 10 s. */
+    public static final TicketType PASTE_AHEAD = register("paste_ahead", 200L);
+
+    /** Brings back a chunk a plot reset still has to clear. Refreshed while waited on; expires after 10 s. */
+    public static final TicketType PLOT_CLEAR = register("plot_clear", 200L);
+
+    /** Keeps a build plot's chunks resident while the build world is memory-only. Never expires; released explicitly. */
+    public static final TicketType PLOT_RETAIN = register("plot_retain", 0L);
+
+    /** Loads the area around a plan's origin while the first step is being planned. Held until the session ends. */
+    public static final TicketType PLAN_PREWARM = register("plan_prewarm", 0L);
+
+    private ChunkTickets() {}
+
+    /** Forces class load so the ticket types are registered during mod init. */
+    static void init() {}
+
+    /** Requests the chunk (and a one-chunk border for lighting/neighbour updates) to load. */
+    public static void preload(ServerLevel level, TicketType type, int chunkX, int chunkZ) {
+        level.getChunkSource().addTicketWithRadius(type, new ChunkPos(chunkX, chunkZ), 1);
+    }
+
+    /**
+     * Holds every chunk within {@code radius} of the given one loaded until
+     * {@link #release} is called with the same arguments. Loading and generation
+     * happen on the chunk system's own threads.
+     */
+    public static void hold(ServerLevel level, TicketType type, int chunkX, int chunkZ, int radius) {
+        level.getChunkSource().addTicketWithRadius(type, new ChunkPos(chunkX, chunkZ), radius);
+    }
+
+    public static void release(ServerLevel level, TicketType type, int chunkX, int chunkZ, int radius) {
+        level.getChunkSource().removeTicketWithRadius(type, new ChunkPos(chunkX, chunkZ), radius);
+    }
+
+    private static TicketType register(String name, long timeoutTicks) {
+        return Registry.register(BuiltInRegistries.TICKET_TYPE,
+                Identifier.fromNamespaceAndPath(Vibebuild.MOD_ID, name),
+                new TicketType(timeoutTicks, TicketType.FLAG_LOADING));
+    }
+}
@@ -0,0 +1,96 @@
+package com.vibebuild;
+
+/**
+ * Tunables for the mod, read once at startup.
+ *
+ * Each value can be set with a JVM system property (-Dvibebuild.x=...) or the
+ * matching environment variable (VIBEBUILD_X). The system property wins.
+ */
+public final class VbConfig {
+
+    /** Milliseconds of tool work allowed per server tick before remaining slices are deferred. */
+    public static final int TICK_BUDGET_MS =
+            intValue("vibebuild.tickBudgetMs", "VIBEBUILD_TICK_BUDGET_MS", 10);
+
+    /** Edits touching more blocks than this are split into slices and spread across ticks. */
+    public static final int SLICE_VOLUME =
+            intValue("vibebuild.sliceVolume", "VIBEBUILD_SLICE_VOLUME", 32768);
+
+    /** Parsed patterns kept per world before the least recently used is dropped. */
+    public static final int PATTERN_CACHE_SIZE =
+            intValue("vibebuild.patternCacheSize", "VIBEBUILD_PATTERN_CACHE_SIZE", 256);
+
+    /** Staged blocks a session may hold in the write buffer before a flush is forced mid-step. */
+    public static final int STAGING_MAX_BLOCKS =
+            intValue("vibebuild.stagingMaxBlocks", "VIBEBUILD_STAGING_MAX_BLOCKS", 1_000_000);
+
+    /** Upper bound on chunk sections a /vb paste writes per server tick. */
+    public static final int PASTE_SECTIONS_PER_TICK =
+            intValue("vibebuild.pasteSectionsPerTick", "VIBEBUILD_PASTE_SECTIONS_PER_TICK", 8);
+
+    /** Blocks from the camera beyond which a ghost preview section is drawn as a single box (client). */
+    public static final int GHOST_LOD_DISTANCE =
+            intValue("vibebuild.ghostLodDistance", "VIBEBUILD_GHOST_LOD_DISTANCE", 96);
+
+    /** Seconds an unused session stays open before it is reaped (0 disables reaping). */
+    public static final int SESSION_IDLE_TIMEOUT_SECONDS =
+            intValue("vibebuild.sessionIdleTimeoutSeconds", "VIBEBUILD_SESSION_IDLE_TIMEOUT_SECONDS", 600);
+
+    /** Upper bound on the backoff between attempts to reopen a dropped backend connection. */
+    public static final int RECONNECT_MAX_DELAY_MS =
+            intValue("vibebuild.reconnectMaxDelayMs", "VIBEBUILD_RECONNECT_MAX_DELAY_MS", 30_000);
+
+    /** Tool calls the backend may send ahead before waiting for results (1 = stop-and-wait). */
+    public static final int TOOL_WINDOW =
+            intValue("vibebuild.toolWindow", "VIBEBUILD_TOOL_WINDOW", 8);
+
+    /** Milliseconds per tick for running WebSocket message handlers on the server thread. */
+    public static final int SESSION_TASK_BUDGET_MS =
+            intValue("vibebuild.sessionTaskBudgetMs", "VIBEBUILD_SESSION_TASK_BUDGET_MS", 5);
+
+    /** Blocks all players' work may change per tick, shared between active builders by priority. */
+    public static final int QUOTA_BLOCKS_PER_TICK =
+            intValue("vibebuild.quotaBlocksPerTick", "VIBEBUILD_QUOTA_BLOCKS_PER_TICK", 131_072);
+
+    /** Blocks one normal-priority player's work may change per rolling minute. */
+    public static final int QUOTA_BLOCKS_PER_MINUTE =
+            intValue("vibebuild.quotaBlocksPerMinute", "VIBEBUILD_QUOTA_BLOCKS_PER_MINUTE", 4_000_000);
+
+    /** 1 keeps the build dimension in memory only: never saved, chunks held until their plot is reset. */
+    public static final int EPHEMERAL_BUILD_WORLD =
+            intValue("vibebuild.ephemeralBuildWorld", "VIBEBUILD_EPHEMERAL_BUILD_WORLD", 0);
+
+    /** Estimated megabytes of build-world chunks held in memory-only mode before idle plots are let go. */
+    public static final int EPHEMERAL_MAX_MB =
+            intValue("vibebuild.ephemeralMaxMb", "VIBEBUILD_EPHEMERAL_MAX_MB", 1024);
+
+    /** Chunks around a plan's origin loaded as soon as the plan arrives (0 disables pre-warming). */
+    public static final int PREWARM_RADIUS_CHUNKS =
+            intValue("vibebuild.prewarmRadiusChunks", "VIBEBUILD_PREWARM_RADIUS_CHUNKS", 6);
+
+    /** 1 runs the build dimension without random ticks, physics, block-entity ticking or spawning, relighting per step. */
+    public static final int LIGHTWEIGHT_BUILD_WORLD =
+            intValue("vibebuild.lightweightBuildWorld", "VIBEBUILD_LIGHTWEIGHT_BUILD_WORLD", 1);
+
+    private VbConfig() {}
+
+    static int intValue(String property, String env, int fallback) {
+        String raw = firstNonBlank(System.getProperty(property), System.getenv(env));
+        if (raw == null) return fallback;
+        try {
+            return Integer.parseInt(raw);
+        } catch (NumberFormatException e) {
+            Vibebuild.LOGGER.warn("[VB] Ignoring invalid {}={}, using {}", property, raw, fallback);
+            return fallback;
+        }
+    }
+
+    private static String firstNonBlank(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+}
@@ -2,27 +2,24 @@ package com.vibebuild;
 
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
-import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.extension.platform.Actor;
 import com.sk89q.worldedit.fabric.FabricAdapter;
-import com.sk89q.worldedit.function.operation.Operation;
-import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.math.transform.AffineTransform;
 import com.sk89q.worldedit.session.ClipboardHolder;
-import com.sk89q.worldedit.world.World;
+import com.vibebuild.schematic.PasteJob;
 import com.vibebuild.session.BuildSession;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
-import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
 /**
  * /vb paste <x> <y> <z> <rotation>
  *
  * Called server-side by the PlacementController after the player left-clicks
- * to confirm ghost placement. Pastes the WE clipboard at the given position.
+ * to confirm ghost placement. Pastes the WE clipboard at the given position as a
+ * paced {@link PasteJob}, with progress in the action bar.
  */
 public class VbPasteCommand {
 
@@ -49,9 +46,15 @@ public class VbPasteCommand {
                                                             int z   = IntegerArgumentType.getInteger(ctx, "z");
                                                             int rot = IntegerArgumentType.getInteger(ctx, "rotation");
 
+                                                            String name = player.getName().getString();
+                                                            BuildSession session = Vibebuild.getInstance().getSessions().get(name);
+                                                            if (session != null && session.phase == BuildSession.Phase.PASTING) {
+                                                                player.sendSystemMessage(ChatUtil.vb("Already placing a build. Use /vb cancel to stop it."));
+                                                                return 0;
+                                                            }
+
                                                             try {
-                                                                Actor  actor   = FabricAdapter.adaptPlayer(player);
-                                                                World  weWorld = FabricAdapter.adapt(player.level());
+                                                                Actor actor = FabricAdapter.adaptPlayer(player);
 
                                                                 ClipboardHolder holder = WorldEdit.getInstance()
                                                                         .getSessionManager()
@@ -62,25 +65,13 @@ public class VbPasteCommand {
                                                                     holder.setTransform(new AffineTransform().rotateY(rot));
                                                                 }
 
-                                                                try (EditSession es = WorldEdit.getInstance()
-                                                                        .newEditSessionBuilder()
-                                                                        .world(weWorld)
-                                                                        .build()) {
-
-                                                                    Operation paste = holder
-                                                                            .createPaste(es)
-                                                                            .to(BlockVector3.at(x, y, z))
-                                                                            .ignoreAirBlocks(false)
-                                                                            .build();
-
-                                                                    Operations.complete(paste);
-                                                                }
-
-                                                                String name = player.getName().getString();
-                                                                BuildSession session = Vibebuild.getInstance().getSessions().get(name);
-                                                                if (session != null) session.phase = BuildSession.Phase.CONNECTED;
+                                                                // Paced paste: a bounded number of sections per tick, cancellable with /vb cancel
+                                                                PasteJob job = new PasteJob(player, holder, BlockVector3.at(x, y, z));
+                                                                if (session != null) session.phase = BuildSession.Phase.PASTING;
+                                                                Vibebuild.getInstance().getIncrementalExecutor().submit(job);
 
-                                                                player.sendSystemMessage(ChatUtil.vb("Build placed! Enjoy."));
+                                                                player.sendSystemMessage(ChatUtil.vbGray(
+                                                                        "Placing build (" + job.getSectionCount() + " sections). Use /vb cancel to stop."));
                                                                 return 1;
 
                                                             } catch (Exception e) {
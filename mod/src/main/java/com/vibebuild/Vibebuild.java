@@ -1,28 +1,37 @@
 package com.vibebuild;
 
+import com.sk89q.worldedit.WorldEdit;
 import com.vibebuild.command.VbCommand;
 import com.vibebuild.dimension.BuildDimension;
+import com.vibebuild.dimension.StagingListener;
+import com.vibebuild.executor.IncrementalExecutor;
+import com.vibebuild.executor.QuotaListener;
 import com.vibebuild.executor.ToolExecutor;
 import com.vibebuild.network.ActivatePreviewPayload;
 import com.vibebuild.network.CancelPreviewPayload;
+import com.vibebuild.network.GhostChunkPayload;
+import com.vibebuild.network.GhostDataCodec;
 import com.vibebuild.network.PreviewReadyPayload;
-import com.vibebuild.network.VbWebSocketClient;
+import com.vibebuild.network.VbConnection;
 import com.vibebuild.schematic.SchematicManager;
 import com.vibebuild.session.BuildSession;
+import com.vibebuild.session.SessionManager;
+import com.vibebuild.session.SessionTaskScheduler;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
-import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class Vibebuild implements ModInitializer {
 
@@ -32,33 +41,48 @@ public class Vibebuild implements ModInitializer {
     private static Vibebuild INSTANCE;
     public static Vibebuild getInstance() { return INSTANCE; }
 
-    private final Map<String, BuildSession>       sessions   = new ConcurrentHashMap<>();
-    private final Map<String, VbWebSocketClient>  webSockets = new ConcurrentHashMap<>();
-
-    private MinecraftServer  server;
-    private BuildDimension   buildDimension;
-    private ToolExecutor     toolExecutor;
-    private SchematicManager schematicManager;
-
-    public Map<String, BuildSession>      getSessions()         { return sessions; }
-    public Map<String, VbWebSocketClient> getWebSockets()       { return webSockets; }
-    public MinecraftServer                getServer()           { return server; }
-    public BuildDimension                 getBuildDimension()   { return buildDimension; }
-    public ToolExecutor                   getToolExecutor()     { return toolExecutor; }
-    public SchematicManager               getSchematicManager() { return schematicManager; }
+    private MinecraftServer      server;
+    private VbConnection         connection;
+    private SessionManager       sessionManager;
+    private SessionTaskScheduler taskScheduler;
+    private BuildDimension       buildDimension;
+    private ToolExecutor         toolExecutor;
+    private IncrementalExecutor  incrementalExecutor;
+    private SchematicManager     schematicManager;
+    private int                  nextGhostTransferId = 1;
+
+    public Map<String, BuildSession> getSessions()            { return sessionManager.getSessions(); }
+    public SessionManager            getSessionManager()      { return sessionManager; }
+    public SessionTaskScheduler      getTaskScheduler()       { return taskScheduler; }
+    public MinecraftServer           getServer()              { return server; }
+    public VbConnection              getConnection()          { return connection; }
+    public BuildDimension            getBuildDimension()      { return buildDimension; }
+    public ToolExecutor              getToolExecutor()        { return toolExecutor; }
+    public IncrementalExecutor       getIncrementalExecutor() { return incrementalExecutor; }
+    public SchematicManager          getSchematicManager()    { return schematicManager; }
 
     @Override
     public void onInitialize() {
         INSTANCE = this;
 
-        toolExecutor     = new ToolExecutor();
-        schematicManager = new SchematicManager();
+        toolExecutor        = new ToolExecutor();
+        incrementalExecutor = new IncrementalExecutor();
+        schematicManager    = new SchematicManager();
+        connection          = new VbConnection(URI.create("ws://localhost:8080"));
+        sessionManager      = new SessionManager(connection);
+        taskScheduler       = new SessionTaskScheduler();
+
+        ChunkTickets.init();
 
         // Register the S2C payload types so the game knows how to encode/decode them
         PayloadTypeRegistry.playS2C().register(
                 PreviewReadyPayload.TYPE,
                 PreviewReadyPayload.CODEC
         );
+        PayloadTypeRegistry.playS2C().register(
+                GhostChunkPayload.TYPE,
+                GhostChunkPayload.CODEC
+        );
         PayloadTypeRegistry.playS2C().register(
                 ActivatePreviewPayload.TYPE,
                 ActivatePreviewPayload.CODEC
@@ -74,54 +98,69 @@ public class Vibebuild implements ModInitializer {
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) ->
                 VbPasteCommand.register(dispatcher));
 
+        // Builds saved by an earlier run would reappear in the plots handed out from scratch
+        ServerLifecycleEvents.SERVER_STARTING.register(BuildDimension::discardSavedChunks);
+
         ServerLifecycleEvents.SERVER_STARTED.register(s -> {
             this.server         = s;
             this.buildDimension = new BuildDimension(s);
+            sessionManager.setServer(s);
             LOGGER.info("[VB] vibe-build mod ready.");
         });
 
-        // Auto-connect players to the WS server when they join
-        ServerPlayConnectionEvents.JOIN.register((handler, sender, s) -> {
-            ServerPlayer player = handler.getPlayer();
-            String name = player.getName().getString();
-            if (sessions.containsKey(name)) return; // already connected
-
-            try {
-                BuildSession session = new BuildSession(name);
-                VbWebSocketClient ws = new VbWebSocketClient(
-                        new URI("ws://localhost:8080"),
-                        () -> this.server.getPlayerList().getPlayerByName(name),
-                        session
-                );
-                ws.connect();
-                sessions.put(name, session);
-                webSockets.put(name, ws);
-                LOGGER.info("[VB] Auto-connecting {} to vibe-build server", name);
-            } catch (Exception e) {
-                LOGGER.warn("[VB] Auto-connect failed for {}: {}", name, e.getMessage());
-            }
-        });
+        // Stage build-dimension tool writes in memory until step boundaries
+        WorldEdit.getInstance().getEventBus().register(new StagingListener());
+
+        // Charge blocks written by vibe-build's own edit sessions to the player's fair-share quota
+        WorldEdit.getInstance().getEventBus().register(new QuotaListener());
+
+        // Continue sliced tool calls that did not fit in the previous tick's budget
+        ServerTickEvents.END_SERVER_TICK.register(s -> incrementalExecutor.tick());
+
+        // Run queued WebSocket handler work; tool jobs it submits use what is left of the tool budget
+        ServerTickEvents.END_SERVER_TICK.register(s -> taskScheduler.tick());
+
+        // Sessions open on first /vb use (see SessionManager); close the ones left unused
+        ServerTickEvents.END_SERVER_TICK.register(s -> sessionManager.tick());
 
         ServerLifecycleEvents.SERVER_STOPPING.register(s -> {
-            webSockets.values().forEach(ws -> { try { ws.closeBlocking(); } catch (Exception ignored) {} });
-            webSockets.clear();
-            sessions.clear();
+            sessionManager.closeAll();
+            try { connection.shutdown(); } catch (Exception ignored) {}
+            toolExecutor.getParseCache().clear();
         });
 
         LOGGER.info("[VB] vibe-build initialised.");
     }
 
-    /** Sends the build bounds to the client so it can capture blocks for ghost preview. */
+    /**
+     * Streams the finished build to the client for the ghost preview: bounds first,
+     * then the compressed block data in chunks.
+     */
     public void sendBuildBoundsToClient(ServerPlayer player, BuildSession session) {
         if (session.buildMin == null || session.buildMax == null) {
             LOGGER.warn("[VB] Cannot send build bounds — no bounds recorded for {}", session.playerName);
             return;
         }
+        ServerLevel level = buildDimension.getLevel();
+        if (level == null) return;
+
+        long start = System.nanoTime();
+        List<byte[]> chunks = GhostDataCodec.encode(level, session.buildMin, session.buildMax, session.dirty.getSections());
+        int transferId = nextGhostTransferId++;
+
         ServerPlayNetworking.send(player,
                 new PreviewReadyPayload(
                         session.buildMin.getX(), session.buildMin.getY(), session.buildMin.getZ(),
-                        session.buildMax.getX(), session.buildMax.getY(), session.buildMax.getZ()
+                        session.buildMax.getX(), session.buildMax.getY(), session.buildMax.getZ(),
+                        transferId, chunks.size()
                 ));
+        long bytes = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            ServerPlayNetworking.send(player, new GhostChunkPayload(transferId, i, chunks.get(i)));
+            bytes += chunks.get(i).length;
+        }
+        LOGGER.info("[VB] Sent ghost data to {}: {} KB in {} chunks, encoded in {} ms",
+                session.playerName, bytes / 1024, chunks.size(), (System.nanoTime() - start) / 1_000_000);
     }
 
     /** Tells the client to activate ghost preview using previously captured blocks. */
@@ -4,10 +4,15 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.vibebuild.ChatUtil;
+import com.vibebuild.VbConfig;
 import com.vibebuild.Vibebuild;
+import com.vibebuild.executor.BuildQuotas;
+import com.vibebuild.executor.IncrementalExecutor;
 import com.vibebuild.network.CancelPreviewPayload;
 import com.vibebuild.network.VbWebSocketClient;
 import com.vibebuild.session.BuildSession;
+import com.vibebuild.session.SessionManager;
+import com.vibebuild.session.SessionTaskScheduler;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -18,18 +23,22 @@ import net.minecraft.server.level.ServerPlayer;
 
 import java.net.Inet4Address;
 import java.net.NetworkInterface;
-import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Registers the /vb command.
  *
- * /vb connect              — open WebSocket connection
- * /vb disconnect           — close WebSocket connection
- * /vb cancel               — cancel current build and teleport back
+ * /vb connect              — open a session now (any other /vb command also opens one on demand)
+ * /vb disconnect           — close the session
+ * /vb cancel               — cancel current build (or paste in progress) and teleport back
  * /vb confirm              — accept reviewed build and return to place it
+ * /vb admin stats          — show executor, cache, session and task-queue counters (operators only)
+ * /vb admin quotas         — show each player's block quota usage (operators only)
+ * /vb admin quotas priority <player> <low|normal|high> — change a player's quota class (operators only)
  * /vb <prompt...>          — send a build prompt to the server
  */
 public class VbCommand {
@@ -62,6 +71,18 @@ public class VbCommand {
                 .then(Commands.literal("image")
                     .executes(VbCommand::image))
 
+                // /vb admin stats | quotas
+                .then(Commands.literal("admin")
+                    .requires(Commands.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                    .then(Commands.literal("stats")
+                        .executes(VbCommand::adminStats))
+                    .then(Commands.literal("quotas")
+                        .executes(VbCommand::adminQuotas)
+                        .then(Commands.literal("priority")
+                            .then(Commands.argument("player", StringArgumentType.word())
+                                .then(Commands.argument("class", StringArgumentType.word())
+                                    .executes(VbCommand::adminSetPriority))))))
+
                 // /vb <prompt...>
                 .then(Commands.argument("prompt", StringArgumentType.greedyString())
                     .executes(VbCommand::prompt))
@@ -75,22 +96,15 @@ public class VbCommand {
         if (player == null) return 0;
 
         String name = player.getName().getString();
+        SessionManager sessions = Vibebuild.getInstance().getSessionManager();
 
-        if (Vibebuild.getInstance().getSessions().containsKey(name)) {
+        if (sessions.get(name) != null && Vibebuild.getInstance().getConnection().isOpen()) {
             player.sendSystemMessage(ChatUtil.vb("Already connected. Use /vb disconnect first."));
             return 0;
         }
 
         try {
-            BuildSession session = new BuildSession(name);
-            VbWebSocketClient ws = new VbWebSocketClient(
-                new URI(WS_URL),
-                () -> Vibebuild.getInstance().getServer().getPlayerList().getPlayerByName(name),
-                session
-            );
-            ws.connect();
-            Vibebuild.getInstance().getSessions().put(name, session);
-            Vibebuild.getInstance().getWebSockets().put(name, ws);
+            sessions.getOrCreate(player);
             player.sendSystemMessage(ChatUtil.vb("Connecting to " + WS_URL + "..."));
         } catch (Exception e) {
             player.sendSystemMessage(ChatUtil.vbError("Failed to connect: " + e.getMessage()));
@@ -105,18 +119,18 @@ public class VbCommand {
         if (player == null) return 0;
 
         String name = player.getName().getString();
-        VbWebSocketClient ws = Vibebuild.getInstance().getWebSockets().remove(name);
-        BuildSession session  = Vibebuild.getInstance().getSessions().remove(name);
+        BuildSession session = Vibebuild.getInstance().getSessionManager().close(name);
 
-        if (ws == null || session == null) {
+        if (session == null) {
             player.sendSystemMessage(ChatUtil.vb("Not connected."));
             return 0;
         }
 
         // Teleport back if stuck in build dimension
+        Vibebuild.getInstance().getIncrementalExecutor().cancel(name);
+        session.staging.clear();
         Vibebuild.getInstance().getBuildDimension().teleportBack(player, session);
 
-        ws.close();
         player.sendSystemMessage(ChatUtil.vb("Disconnected."));
         return 1;
     }
@@ -126,22 +140,33 @@ public class VbCommand {
         if (player == null) return 0;
 
         String name = player.getName().getString();
-        VbWebSocketClient ws      = Vibebuild.getInstance().getWebSockets().get(name);
-        BuildSession      session = Vibebuild.getInstance().getSessions().get(name);
+        VbWebSocketClient ws      = Vibebuild.getInstance().getSessionManager().getChannel(name);
+        BuildSession      session = Vibebuild.getInstance().getSessionManager().get(name);
 
         if (ws == null || session == null) {
             player.sendSystemMessage(ChatUtil.vb("Not connected."));
             return 0;
         }
+        session.touch();
 
         if (session.phase == BuildSession.Phase.CONNECTED || session.phase == BuildSession.Phase.IDLE) {
             player.sendSystemMessage(ChatUtil.vb("Nothing to cancel."));
             return 0;
         }
 
-        // If building/planning, notify the server to stop generating
+        // A paste in progress just stops; placed sections stay and the player stays put
+        if (session.phase == BuildSession.Phase.PASTING) {
+            Vibebuild.getInstance().getIncrementalExecutor().cancel(name);
+            session.phase = BuildSession.Phase.CONNECTED;
+            player.sendSystemMessage(ChatUtil.vb("Paste cancelled. Placed sections stay (use //undo to revert)."));
+            return 1;
+        }
+
+        // If building/planning, notify the server to stop generating and drop queued slices
         if (session.phase == BuildSession.Phase.BUILDING || session.phase == BuildSession.Phase.PLANNING) {
             ws.sendCancel();
+            Vibebuild.getInstance().getIncrementalExecutor().cancel(name);
+            session.staging.clear();
         }
 
         // If previewing, tell the client to deactivate the ghost
@@ -165,12 +190,13 @@ public class VbCommand {
         if (player == null) return 0;
 
         String name = player.getName().getString();
-        BuildSession session = Vibebuild.getInstance().getSessions().get(name);
+        BuildSession session = Vibebuild.getInstance().getSessionManager().get(name);
 
         if (session == null) {
             player.sendSystemMessage(ChatUtil.vb("Not connected."));
             return 0;
         }
+        session.touch();
 
         if (session.phase != BuildSession.Phase.REVIEWING) {
             player.sendSystemMessage(ChatUtil.vb("Nothing to confirm. Build something first with /vb <prompt>."));
@@ -199,13 +225,9 @@ public class VbCommand {
         String name   = player.getName().getString();
         String prompt = StringArgumentType.getString(ctx, "prompt");
 
-        VbWebSocketClient ws      = Vibebuild.getInstance().getWebSockets().get(name);
-        BuildSession      session = Vibebuild.getInstance().getSessions().get(name);
-
-        if (ws == null || !ws.isOpen()) {
-            player.sendSystemMessage(ChatUtil.vb("Not connected. Run /vb connect first."));
-            return 0;
-        }
+        // First /vb use opens the session; the prompt is held until the connection is up
+        BuildSession      session = Vibebuild.getInstance().getSessionManager().getOrCreate(player);
+        VbWebSocketClient ws      = Vibebuild.getInstance().getSessionManager().getChannel(name);
 
         if (session.phase != BuildSession.Phase.CONNECTED && session.phase != BuildSession.Phase.REVIEWING) {
             player.sendSystemMessage(ChatUtil.vb("Busy -- wait for the current build to finish, or /vb cancel."));
@@ -237,13 +259,8 @@ public class VbCommand {
         if (player == null) return 0;
 
         String name = player.getName().getString();
-        VbWebSocketClient ws = Vibebuild.getInstance().getWebSockets().get(name);
-        BuildSession session = Vibebuild.getInstance().getSessions().get(name);
-
-        if (ws == null || session == null || !ws.isOpen()) {
-            player.sendSystemMessage(ChatUtil.vb("Not connected. Run /vb connect first."));
-            return 0;
-        }
+        // The upload page routes its prompt by player name, so the backend needs a session for us
+        BuildSession session = Vibebuild.getInstance().getSessionManager().getOrCreate(player);
 
         double x, y, z;
         if (session.inVibeWorldSession) {
@@ -279,6 +296,75 @@ public class VbCommand {
         return 1;
     }
 
+    private static int adminStats(CommandContext<CommandSourceStack> ctx) {
+        ServerPlayer player = ctx.getSource().getPlayer();
+        if (player == null) return 0;
+
+        Vibebuild vb = Vibebuild.getInstance();
+        player.sendSystemMessage(ChatUtil.vb("Executor stats:"));
+        player.sendSystemMessage(ChatUtil.vbGray("Parse cache: " + vb.getToolExecutor().getParseCache().describe()));
+        player.sendSystemMessage(ChatUtil.vbGray("Queued tool jobs: " + vb.getIncrementalExecutor().pendingJobs()));
+
+        SessionTaskScheduler tasks = vb.getTaskScheduler();
+        player.sendSystemMessage(ChatUtil.vbGray(String.format(
+                "Session tasks: %d queued (peak %d), %d deferred last tick, %d deferred / %d run total",
+                tasks.getQueueDepth(), tasks.getPeakQueueDepth(), tasks.getDeferredLastTick(),
+                tasks.getDeferredTotal(), tasks.getRanTotal())));
+
+        SessionManager sessions = vb.getSessionManager();
+        player.sendSystemMessage(ChatUtil.vbGray(String.format(
+                "Sessions: %d live, %d idle, %d reaped (socket %s)",
+                sessions.getLiveCount(), sessions.getIdleCount(), sessions.getReapedCount(),
+                vb.getConnection().isOpen() ? "open" : "closed")));
+        if (vb.getBuildDimension() != null) {
+            player.sendSystemMessage(ChatUtil.vbGray("Build plots in use: " + vb.getBuildDimension().getPlots().inUseCount()));
+            player.sendSystemMessage(ChatUtil.vbGray("Build world storage: " + vb.getBuildDimension().getStorage().describe()));
+            player.sendSystemMessage(ChatUtil.vbGray("Build world simulation: " + vb.getBuildDimension().getSimulation().describe()));
+        }
+        return 1;
+    }
+
+    private static int adminQuotas(CommandContext<CommandSourceStack> ctx) {
+        ServerPlayer player = ctx.getSource().getPlayer();
+        if (player == null) return 0;
+
+        IncrementalExecutor executor = Vibebuild.getInstance().getIncrementalExecutor();
+        BuildQuotas quotas = executor.getQuotas();
+        Map<String, BuildQuotas.Usage> usage = quotas.snapshot();
+
+        player.sendSystemMessage(ChatUtil.vb(String.format("Build quotas (%d per tick shared, %d per minute at normal):",
+                VbConfig.QUOTA_BLOCKS_PER_TICK, VbConfig.QUOTA_BLOCKS_PER_MINUTE)));
+        if (usage.isEmpty()) {
+            player.sendSystemMessage(ChatUtil.vbGray("No recent build activity."));
+            return 1;
+        }
+        usage.forEach((name, u) -> player.sendSystemMessage(ChatUtil.vbGray(String.format(
+                "%s [%s]: %d/%d this tick, %d/%d last minute, %d total, throttled %d ticks, %d jobs queued",
+                name, quotas.getPriority(name).name().toLowerCase(Locale.ROOT),
+                u.getTickBlocks(), quotas.tickLimit(name),
+                u.getMinuteBlocks(), quotas.minuteLimit(name),
+                u.getTotalBlocks(), u.getThrottledTicks(), executor.pendingJobs(name)))));
+        return 1;
+    }
+
+    private static int adminSetPriority(CommandContext<CommandSourceStack> ctx) {
+        ServerPlayer player = ctx.getSource().getPlayer();
+        if (player == null) return 0;
+
+        String name = StringArgumentType.getString(ctx, "player");
+        BuildQuotas.Priority priority;
+        try {
+            priority = BuildQuotas.Priority.parse(StringArgumentType.getString(ctx, "class"));
+        } catch (IllegalArgumentException e) {
+            player.sendSystemMessage(ChatUtil.vbError("Unknown class. Use low, normal or high."));
+            return 0;
+        }
+
+        Vibebuild.getInstance().getIncrementalExecutor().getQuotas().setPriority(name, priority);
+        player.sendSystemMessage(ChatUtil.vb(name + " now builds at " + priority.name().toLowerCase(Locale.ROOT) + " priority."));
+        return 1;
+    }
+
     private static String resolveImageInputUrl() {
         String explicit = firstNonBlank(
             System.getProperty("vibebuild.imageInputUrl"),
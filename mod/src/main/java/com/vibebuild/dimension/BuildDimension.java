@@ -1,6 +1,10 @@
 package com.vibebuild.dimension;
 
+import com.sk89q.worldedit.fabric.FabricAdapter;
+import com.sk89q.worldedit.world.World;
 import com.vibebuild.ChatUtil;
+import com.vibebuild.ChunkTickets;
+import com.vibebuild.VbConfig;
 import com.vibebuild.Vibebuild;
 import com.vibebuild.session.BuildSession;
 import net.minecraft.core.BlockPos;
@@ -10,11 +14,13 @@ import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.storage.LevelResource;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
@@ -25,8 +31,14 @@ import java.util.Set;
  * The dimension is defined via data-pack JSON at:
  *   resources/data/vibe-build/dimension/build_world.json
  *
- * Build coordinates from the server map directly to world coords here
- * (origin is always 0,64,0).
+ * Every session builds in its own {@link PlotAllocator} plot, so several players
+ * can build at once. The plan's coordinates (anchored at the player's position
+ * in their own world) are shifted on X/Z into the plot; Y is kept. When a
+ * session ends, its plot's dirty sections are reset in memory and the plot is
+ * recycled; the dimension's files are never touched at runtime. When the
+ * dimension is saved like any other ({@link VbConfig#EPHEMERAL_BUILD_WORLD} off),
+ * builds saved at shutdown are discarded by {@link #discardSavedChunks} before
+ * the level loads, so plot 0 starts empty.
  */
 public class BuildDimension {
 
@@ -35,75 +47,194 @@ public class BuildDimension {
             Identifier.fromNamespaceAndPath(Vibebuild.MOD_ID, "build_world")
     );
 
-    /** Default build origin when no bounds are known yet. */
-    private static final double DEFAULT_BUILD_X = 0.5;
+    /** Default build height when no origin is known yet. */
     private static final double DEFAULT_BUILD_Y = 64.0;
-    private static final double DEFAULT_BUILD_Z = 0.5;
+
+    /** Keeps a misconfigured radius from loading thousands of chunks per session. */
+    private static final int MAX_PREWARM_RADIUS = 16;
 
     /** Spectator distance offset from the build center. */
     private static final double SPECTATOR_OFFSET = 30.0;
     private static final double SPECTATOR_HEIGHT_OFFSET = 15.0;
 
     private final MinecraftServer server;
+    private final PlotAllocator plots = new PlotAllocator();
+    private final BuildWorldStorage storage = new BuildWorldStorage();
+    private final BuildSimulation simulation = new BuildSimulation();
 
     public BuildDimension(MinecraftServer server) {
         this.server = server;
     }
 
+    /** The build dimension's level, or null if it is not loaded. */
+    public ServerLevel getLevel() {
+        return server.getLevel(DIMENSION_KEY);
+    }
+
+    public PlotAllocator getPlots() {
+        return plots;
+    }
+
+    public BuildWorldStorage getStorage() {
+        return storage;
+    }
+
+    public BuildSimulation getSimulation() {
+        return simulation;
+    }
+
     /**
-     * Schedules cleanup of the build dimension after the player has left.
-     * Waits one tick for the teleport to complete, then saves and attempts to
-     * delete dimension region files. We intentionally do NOT close chunk IO
-     * during runtime cleanup, because that can leave the build world in a bad
-     * state for subsequent sessions in singleplayer.
+     * Deletes the build dimension's saved chunks. Called while the server is
+     * starting, before any level loads, so no region file is open. Plot
+     * allocation starts from scratch on every start, so nothing saved there
+     * belongs to anyone. Skipped for a memory-only dimension, which never
+     * writes those files.
      */
-    public void scheduleWorldCleanup() {
-        // Run on next server tick so the teleport finishes first
-        server.execute(() -> {
-            ServerLevel buildLevel = server.getLevel(DIMENSION_KEY);
-            if (buildLevel == null) return;
-
-            // Don't clean if someone is still in there
-            if (!buildLevel.players().isEmpty()) {
-                Vibebuild.LOGGER.info("[VB] Skipping cleanup — players still in build world");
-                return;
+    public static void discardSavedChunks(MinecraftServer server) {
+        if (VbConfig.EPHEMERAL_BUILD_WORLD != 0) return;
+        Path dimDir = server.getWorldPath(LevelResource.ROOT)
+                .resolve("dimensions").resolve(Vibebuild.MOD_ID).resolve("build_world");
+        int deleted = 0;
+        for (String subdir : new String[]{"region", "entities", "poi"}) {
+            Path dir = dimDir.resolve(subdir);
+            if (!Files.isDirectory(dir)) continue;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            } catch (IOException e) {
+                Vibebuild.LOGGER.error("[VB] Could not discard saved build-world chunks in {}: {}", dir, e.getMessage(), e);
             }
+        }
+        if (deleted > 0) Vibebuild.LOGGER.info("[VB] Discarded {} saved build-world files", deleted);
+    }
 
-            try {
-                // Save chunks before cleanup.
-                buildLevel.getChunkSource().save(false);
-
-                // Delete region/entities/poi files
-                Path worldDir = server.getWorldPath(LevelResource.ROOT);
-                Path dimDir = worldDir.resolve("dimensions").resolve("vibe-build").resolve("build_world");
-
-                int deleted = 0;
-                int failed = 0;
-                for (String subdir : new String[]{"region", "entities", "poi"}) {
-                    Path dir = dimDir.resolve(subdir);
-                    if (Files.isDirectory(dir)) {
-                        File[] files = dir.toFile().listFiles();
-                        if (files != null) {
-                            for (File f : files) {
-                                if (f.delete()) {
-                                    deleted++;
-                                } else {
-                                    failed++;
-                                }
-                            }
-                        }
-                    }
-                }
+    // ── Plots ──
 
-                Vibebuild.LOGGER.info(
-                        "[VB] Build world cleanup: deleted {} files, {} could not be deleted",
-                        deleted,
-                        failed
-                );
-            } catch (Exception e) {
-                Vibebuild.LOGGER.error("[VB] Build world cleanup failed: {}", e.getMessage(), e);
-            }
-        });
+    /**
+     * Gives the session a plot (if it has none) and maps the plan's anchor, the
+     * player's X/Z when they prompted, onto the plot's centre.
+     */
+    public void assignPlot(BuildSession session, double anchorX, double anchorZ) {
+        if (session.plot == null) {
+            session.plot = plots.allocate();
+            Vibebuild.LOGGER.info("[VB] {} builds in plot {} ({} in use)",
+                    session.playerName, session.plot.index(), plots.inUseCount());
+        }
+        session.plotOffsetX = session.plot.centerX() - (int) Math.floor(anchorX);
+        session.plotOffsetZ = session.plot.centerZ() - (int) Math.floor(anchorZ);
+    }
+
+    /**
+     * Starts loading the chunks around a plan's origin so they are generated by
+     * the time the first tool call lands. Replaces the session's previous
+     * pre-warm (a reprompt can move the origin); released with the plot.
+     */
+    public void prewarm(BuildSession session, BlockPos origin) {
+        ServerLevel buildLevel = server.getLevel(DIMENSION_KEY);
+        int radius = Math.min(VbConfig.PREWARM_RADIUS_CHUNKS, MAX_PREWARM_RADIUS);
+        if (buildLevel == null || radius <= 0) return;
+
+        ChunkPos center = new ChunkPos(origin);
+        if (center.equals(session.prewarmCenter) && radius == session.prewarmRadius) return;
+        releasePrewarm(buildLevel, session);
+
+        ChunkTickets.hold(buildLevel, ChunkTickets.PLAN_PREWARM, center.x, center.z, radius);
+        session.prewarmCenter = center;
+        session.prewarmRadius = radius;
+        Vibebuild.LOGGER.debug("[VB] Pre-warming {} chunks around {} for {}",
+                (2 * radius + 1) * (2 * radius + 1), center, session.playerName);
+    }
+
+    private static void releasePrewarm(ServerLevel buildLevel, BuildSession session) {
+        if (session.prewarmCenter == null) return;
+        ChunkTickets.release(buildLevel, ChunkTickets.PLAN_PREWARM,
+                session.prewarmCenter.x, session.prewarmCenter.z, session.prewarmRadius);
+        session.prewarmCenter = null;
+    }
+
+    /**
+     * Hands the session's plot back. The blocks it wrote are cleared over the
+     * next ticks, and only then does the plot become available again.
+     */
+    public void releasePlot(BuildSession session) {
+        PlotAllocator.Plot plot = session.plot;
+        if (plot == null) return;
+        session.plot = null;
+        session.plotOffsetX = 0;
+        session.plotOffsetZ = 0;
+
+        // Nothing of this session may land after the clear starts; a paste elsewhere carries on
+        Vibebuild.getInstance().getIncrementalExecutor().cancelPlotWork(session.playerName);
+        session.staging.clear();
+
+        ServerLevel buildLevel = server.getLevel(DIMENSION_KEY);
+        if (buildLevel == null) {
+            plots.free(plot);
+            return;
+        }
+        releasePrewarm(buildLevel, session);
+        Runnable recycle = () -> {
+            storage.release(buildLevel, plot);
+            plots.free(plot);
+        };
+        if (session.dirty.isEmpty()) {
+            recycle.run();
+            return;
+        }
+        Vibebuild.getInstance().getIncrementalExecutor()
+                .submit(new PlotClearJob(plot, buildLevel, session.dirty.getSections(), recycle));
+    }
+
+    // ── Write staging ──
+
+    /** True if the given WorldEdit world is the build dimension. */
+    public boolean isBuildWorld(World world) {
+        ServerLevel buildLevel = server.getLevel(DIMENSION_KEY);
+        return buildLevel != null && world.getName().equals(FabricAdapter.adapt(buildLevel).getName());
+    }
+
+    /**
+     * Queues a paced flush of the session's staged writes behind its pending tool work.
+     * {@code then} runs on the server thread once every staged section has landed
+     * and the deferred light checks have been handed to the light engine.
+     */
+    public void flushStaging(BuildSession session, Runnable then) {
+        ServerLevel buildLevel = server.getLevel(DIMENSION_KEY);
+        if (buildLevel == null || session.staging.isEmpty()) {
+            session.staging.clear();
+            if (buildLevel != null) simulation.relight(buildLevel);
+            if (then != null) then.run();
+            return;
+        }
+        storage.retain(buildLevel, session);
+        Vibebuild.LOGGER.debug("[VB] Flushing {} staged blocks in {} sections for {}",
+                session.staging.stagedBlocks(), session.staging.sectionCount(), session.playerName);
+        Runnable landed = () -> {
+            simulation.relight(buildLevel);
+            if (then != null) then.run();
+        };
+        Vibebuild.getInstance().getIncrementalExecutor()
+                .submit(new StagingFlushJob(session.playerName, session.staging, buildLevel, landed));
+    }
+
+    /** Flushes all staged writes immediately, for code that is about to touch the level directly. */
+    public void flushStagingNow(BuildSession session) {
+        ServerLevel buildLevel = server.getLevel(DIMENSION_KEY);
+        if (buildLevel != null) storage.retain(buildLevel, session);
+        StagingBuffer.Section section;
+        while ((section = session.staging.pollSection()) != null) {
+            if (buildLevel != null) StagingFlushJob.writeSection(buildLevel, section);
+        }
+        if (buildLevel != null) simulation.relight(buildLevel);
+    }
+
+    /** Starts a flush early when a session has staged more blocks than the configured cap. */
+    public void flushStagingIfFull(BuildSession session) {
+        if (session.staging.stagedBlocks() > VbConfig.STAGING_MAX_BLOCKS) {
+            flushStaging(session, null);
+        }
     }
 
     /** Saves the player's current position, rotation, gamemode, and dimension. Called once at session start. */
@@ -126,10 +257,10 @@ public class BuildDimension {
             return;
         }
 
-        // Compute spectator position facing the build
-        double buildCenterX = DEFAULT_BUILD_X;
+        // Compute spectator position facing the build (the plot centre until the plan names an origin)
+        double buildCenterX = session.plot != null ? session.plot.centerX() + 0.5 : 0.5;
         double buildCenterY = DEFAULT_BUILD_Y;
-        double buildCenterZ = DEFAULT_BUILD_Z;
+        double buildCenterZ = session.plot != null ? session.plot.centerZ() + 0.5 : 0.5;
 
         if (session.buildOrigin != null) {
             buildCenterX = session.buildOrigin.getX() + 0.5;
@@ -228,13 +359,11 @@ public class BuildDimension {
                 session.originalYaw, session.originalPitch,
                 false);
 
-        // End the vibe world session
+        // End the vibe world session; the plot is no longer needed (ghost data and clipboard are already taken)
         session.inVibeWorldSession = false;
+        releasePlot(session);
         Vibebuild.LOGGER.info("[VB] Teleported {} back to {}",
                 session.playerName, originalLevel.dimension().toString());
-
-        // Schedule cleanup of the build dimension after teleport completes
-        scheduleWorldCleanup();
     }
 
     // ── Helpers ──
@@ -0,0 +1,120 @@
+package com.vibebuild.dimension;
+
+import com.sk89q.worldedit.util.SideEffect;
+import com.sk89q.worldedit.util.SideEffectSet;
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+
+/**
+ * The build dimension's lightweight simulation profile.
+ *
+ * The build dimension is a review space: nobody plays in it, and only the
+ * blocks matter. With {@link VbConfig#LIGHTWEIGHT_BUILD_WORLD} on (the
+ * default), the mixins in {@code com.vibebuild.mixin} skip in that level:
+ * <ul>
+ *   <li>random ticks and weather per chunk,</li>
+ *   <li>scheduled block and fluid ticks, so sand hangs and water stays put,</li>
+ *   <li>block-entity tickers (furnaces, hoppers, spawners ...), and</li>
+ *   <li>natural mob spawning.</li>
+ * </ul>
+ * Staged writes land without neighbour updates or physics ({@link #SIDE_EFFECTS}),
+ * and the light checks they would queue one by one are collected here instead
+ * and handed to the light engine in one pass by {@link #relight} when a step's
+ * writes have landed. Only writes made inside {@link #deferringLight} (the
+ * staging flush) are held; signs, plot resets and anything else are lit as
+ * usual. None of this carries over to a paste: the target world runs its own
+ * updates.
+ *
+ * Everything runs on the server thread.
+ */
+public class BuildSimulation {
+
+    /** WorldEdit side effects for writes into the build dimension: keep clients in sync, skip the rest. */
+    public static final SideEffectSet SIDE_EFFECTS = SideEffectSet.defaults()
+            .with(SideEffect.NEIGHBORS, SideEffect.State.OFF)
+            .with(SideEffect.UPDATE,    SideEffect.State.OFF)
+            .with(SideEffect.LIGHTING,  SideEffect.State.OFF);
+
+    private static final boolean ENABLED = VbConfig.LIGHTWEIGHT_BUILD_WORLD != 0;
+
+    private final LongSet pendingLight = new LongOpenHashSet();
+    private boolean deferring = false;
+
+    private long deferredChecks = 0;
+    private long relights       = 0;
+    private long lastRelight    = 0;
+    private long lastRelightNanos = 0;
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** True if the given level runs the lightweight profile. Cheap; called from tick hooks. */
+    public static boolean isLightweight(Level level) {
+        return ENABLED && level.dimension() == BuildDimension.DIMENSION_KEY;
+    }
+
+    /** Null unless the level is the build dimension running the lightweight profile. */
+    public static BuildSimulation of(Level level) {
+        if (!isLightweight(level)) return null;
+        Vibebuild vb = Vibebuild.getInstance();
+        BuildDimension dimension = vb != null ? vb.getBuildDimension() : null;
+        return dimension != null ? dimension.getSimulation() : null;
+    }
+
+    // ── Lighting ──
+
+    /** Runs {@code writes} with their light checks held for the next {@link #relight}. */
+    public void deferringLight(Runnable writes) {
+        boolean outer = deferring;
+        deferring = true;
+        try {
+            writes.run();
+        } finally {
+            deferring = outer;
+        }
+    }
+
+    /**
+     * Holds a light check for the next {@link #relight} if called inside
+     * {@link #deferringLight}. Repeated changes to one block cost one check.
+     *
+     * @return false if the caller should queue the check itself
+     */
+    public boolean deferLight(BlockPos pos) {
+        if (!deferring) return false;
+        pendingLight.add(pos.asLong());
+        deferredChecks++;
+        return true;
+    }
+
+    /** Queues every held light check with the light engine, which works through them off-thread. */
+    public void relight(ServerLevel level) {
+        if (pendingLight.isEmpty()) return;
+        long start = System.nanoTime();
+        LevelLightEngine engine = level.getChunkSource().getLightEngine();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (LongIterator it = pendingLight.iterator(); it.hasNext(); ) {
+            engine.checkBlock(pos.set(it.nextLong()));
+        }
+        lastRelight = pendingLight.size();
+        relights++;
+        pendingLight.clear();
+        lastRelightNanos = System.nanoTime() - start;
+    }
+
+    // ── Stats ──
+
+    public String describe() {
+        if (!ENABLED) return "full simulation";
+        return String.format("lightweight, %d light checks deferred, %d relights (last %d blocks in %.1f ms), %d pending",
+                deferredChecks, relights, lastRelight, lastRelightNanos / 1e6, pendingLight.size());
+    }
+}
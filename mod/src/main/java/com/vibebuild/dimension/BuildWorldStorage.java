@@ -0,0 +1,146 @@
+package com.vibebuild.dimension;
+
+import com.vibebuild.ChunkTickets;
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.session.BuildSession;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How the build dimension's chunks are stored, and what that costs.
+ *
+ * By default they are saved like any other dimension. With
+ * {@link VbConfig#EPHEMERAL_BUILD_WORLD} set, the dimension is memory-only:
+ * autosave and shutdown skip it (see the ServerLevel and ChunkMap mixins), and
+ * since an unloaded chunk would come back empty, the chunks each plot has
+ * written are held loaded with a {@link ChunkTickets#PLOT_RETAIN} ticket until
+ * the plot is reset.
+ *
+ * Retained memory is estimated from the sections written and capped at
+ * {@link VbConfig#EPHEMERAL_MAX_MB}. Over the cap, the least recently used
+ * plots that no live session holds any more (their owner left, or they are
+ * waiting on a {@link PlotClearJob}) lose their tickets. A plot its session
+ * still holds is never evicted, whatever the session's phase, since the player
+ * may be standing in it.
+ *
+ * All methods except the save hooks run on the server thread.
+ */
+public class BuildWorldStorage {
+
+    /** Rough resident size of one written section: packed states plus block and sky light. */
+    private static final long SECTION_BYTES = 12 * 1024;
+
+    private static final class Retained {
+        final String owner;
+        final LongSet chunks   = new LongOpenHashSet();
+        final LongSet sections = new LongOpenHashSet();
+        long lastUsedMs;
+
+        Retained(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    private final boolean ephemeral = VbConfig.EPHEMERAL_BUILD_WORLD != 0;
+    private final long maxBytes = VbConfig.EPHEMERAL_MAX_MB * 1024L * 1024L;
+
+    private final Map<Integer, Retained> retained = new HashMap<>();
+    private long retainedSections = 0;
+    private long evictedPlots     = 0;
+
+    private volatile long savesSkipped = 0;
+    private volatile long saves        = 0;
+    private volatile long lastSaveNanos = 0;
+
+    public boolean isEphemeral() {
+        return ephemeral;
+    }
+
+    /** True if saving this level should be skipped. Called from the save mixins, possibly off-thread. */
+    public boolean skipsSave(ServerLevel level) {
+        return ephemeral && level.dimension() == BuildDimension.DIMENSION_KEY;
+    }
+
+    // ── Retention ──
+
+    /** Holds every chunk the session's plot has written so far. No-op unless the world is memory-only. */
+    public void retain(ServerLevel level, BuildSession session) {
+        if (!ephemeral || session.plot == null) return;
+
+        Retained r = retained.computeIfAbsent(session.plot.index(), k -> new Retained(session.playerName));
+        r.lastUsedMs = System.currentTimeMillis();
+        for (long section : session.dirty.getSections()) {
+            if (!r.sections.add(section)) continue;
+            retainedSections++;
+            long chunk = ChunkPos.asLong(SectionPos.x(section), SectionPos.z(section));
+            if (r.chunks.add(chunk)) {
+                ChunkTickets.hold(level, ChunkTickets.PLOT_RETAIN, ChunkPos.getX(chunk), ChunkPos.getZ(chunk), 0);
+            }
+        }
+        enforceCap(level);
+    }
+
+    /** Lets a plot's chunks unload; called once the plot has been reset. */
+    public void release(ServerLevel level, PlotAllocator.Plot plot) {
+        Retained r = retained.remove(plot.index());
+        if (r == null) return;
+        retainedSections -= r.sections.size();
+        for (long chunk : r.chunks) {
+            ChunkTickets.release(level, ChunkTickets.PLOT_RETAIN, ChunkPos.getX(chunk), ChunkPos.getZ(chunk), 0);
+        }
+    }
+
+    private void enforceCap(ServerLevel level) {
+        while (retainedSections * SECTION_BYTES > maxBytes) {
+            Map.Entry<Integer, Retained> victim = retained.entrySet().stream()
+                    .filter(e -> !isHeld(e.getKey(), e.getValue().owner))
+                    .min(Comparator.comparingLong(e -> e.getValue().lastUsedMs))
+                    .orElse(null);
+            if (victim == null) return;   // every retained plot is still held by its session
+
+            Vibebuild.LOGGER.warn("[VB] Build world over {} MB; releasing plot {} of {}",
+                    VbConfig.EPHEMERAL_MAX_MB, victim.getKey(), victim.getValue().owner);
+            release(level, new PlotAllocator.Plot(victim.getKey()));
+            evictedPlots++;
+        }
+    }
+
+    /** True if the owner's live session still holds the plot, or is in the build world without one. */
+    private static boolean isHeld(int plotIndex, String owner) {
+        BuildSession session = Vibebuild.getInstance().getSessions().get(owner);
+        if (session == null) return false;
+        return session.plot != null ? session.plot.index() == plotIndex : session.inVibeWorldSession;
+    }
+
+    // ── Save hooks ──
+
+    public void onSaveSkipped() {
+        savesSkipped++;
+    }
+
+    public void onSaved(long nanos) {
+        saves++;
+        lastSaveNanos = nanos;
+    }
+
+    // ── Stats ──
+
+    public String describe() {
+        if (!ephemeral) {
+            return String.format("on disk, %d saves, last took %.1f ms", saves, lastSaveNanos / 1e6);
+        }
+        long chunks = 0;
+        for (Retained r : retained.values()) chunks += r.chunks.size();
+        return String.format("memory-only, %d saves skipped, %d chunks held for %d plots (~%d/%d MB), %d plots evicted",
+                savesSkipped, chunks, retained.size(),
+                retainedSections * SECTION_BYTES / (1024 * 1024), VbConfig.EPHEMERAL_MAX_MB, evictedPlots);
+    }
+}
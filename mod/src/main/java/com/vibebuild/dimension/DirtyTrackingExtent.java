@@ -0,0 +1,33 @@
+package com.vibebuild.dimension;
+
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.extent.AbstractDelegateExtent;
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockStateHolder;
+import com.vibebuild.session.DirtyRegion;
+
+/**
+ * Records every position whose block really changed into a {@link DirtyRegion}.
+ * Writes that leave the block as it was (e.g. air over air) are not recorded.
+ */
+public class DirtyTrackingExtent extends AbstractDelegateExtent {
+
+    private final DirtyRegion region;
+
+    public DirtyTrackingExtent(Extent extent, DirtyRegion region) {
+        super(extent);
+        this.region = region;
+    }
+
+    @Override
+    public <T extends BlockStateHolder<T>> boolean setBlock(BlockVector3 location, T block) throws WorldEditException {
+        BlockState before = getExtent().getBlock(location);
+        boolean set = super.setBlock(location, block);
+        if (set && !before.equalsFuzzy(block)) {
+            region.add(location.x(), location.y(), location.z());
+        }
+        return set;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vibebuild.dimension;
+
+import java.util.BitSet;
+
+/**
+ * Hands out build plots in the shared build dimension, one per session.
+ *
+ * A plot is one region file (512x512 columns). Plots sit on every other region
+ * in both directions, so a build that spills over its edge runs into empty
+ * space rather than into a neighbour, and no two plots share a region file.
+ * The lowest free slot is reused first, so plots stay close to the origin.
+ */
+public class PlotAllocator {
+
+    /** Plot edge in blocks: exactly one region file. */
+    public static final int PLOT_SIZE = 512;
+
+    /** Regions from one plot to the next; 2 leaves a one-region gap between plots. */
+    private static final int SPACING_REGIONS = 2;
+
+    /** Plots per row before the next row starts. */
+    private static final int ROW_LENGTH = 16;
+
+    /** One plot, identified by its slot; the block range follows from the slot. */
+    public record Plot(int index) {
+
+        public int regionX() { return (index % ROW_LENGTH) * SPACING_REGIONS; }
+        public int regionZ() { return (index / ROW_LENGTH) * SPACING_REGIONS; }
+
+        public int minX()    { return regionX() * PLOT_SIZE; }
+        public int minZ()    { return regionZ() * PLOT_SIZE; }
+        public int centerX() { return minX() + PLOT_SIZE / 2; }
+        public int centerZ() { return minZ() + PLOT_SIZE / 2; }
+    }
+
+    private final BitSet inUse = new BitSet();
+
+    public synchronized Plot allocate() {
+        int index = inUse.nextClearBit(0);
+        inUse.set(index);
+        return new Plot(index);
+    }
+
+    /** Makes a plot available again. Call only once it has been cleared. */
+    public synchronized void free(Plot plot) {
+        inUse.clear(plot.index());
+    }
+
+    public synchronized int inUseCount() {
+        return inUse.cardinality();
+    }
+}
@@ -0,0 +1,158 @@
+package com.vibebuild.dimension;
+
+import com.vibebuild.ChunkTickets;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.executor.IncrementalExecutor;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.ai.village.poi.PoiTypes;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Resets a released plot to void, one dirty chunk section per step, then runs
+ * {@code then} (which returns the plot to the {@link PlotAllocator}).
+ *
+ * Sections are cleared in memory: every non-air state is replaced straight in
+ * the {@link LevelChunkSection}, with no neighbour updates, drops or per-block
+ * heightmap work. Each cleared position is queued with the light engine and
+ * with the chunk's change tracker, so clients get the usual section updates
+ * and light packets on the next broadcast. The bookkeeping
+ * {@link LevelChunk#setBlockState} would do is kept: block entities and
+ * points of interest (beds, workstations ...) are removed, and a section left
+ * all air is reported empty to the light engine and chunk source. Nothing is read from or written to
+ * disk here; the chunk is only marked unsaved. Only sections the session
+ * actually wrote are touched, so the reset costs what the build cost rather
+ * than the size of the plot.
+ *
+ * A section whose chunk has unloaded is not read back synchronously: the job
+ * puts a {@link ChunkTickets#PLOT_CLEAR} ticket on it and waits, like a job
+ * that is not ready, until the chunk system has loaded it.
+ *
+ * A job dropped before it finishes queues the sections it has not reached as
+ * a new job, so the plot still ends up clean and back in the allocator.
+ */
+class PlotClearJob implements IncrementalExecutor.Job {
+
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    /** Heightmaps a loaded chunk keeps; rebuilt once per section instead of per block. */
+    private static final Set<Heightmap.Types> HEIGHTMAPS = EnumSet.of(
+            Heightmap.Types.WORLD_SURFACE, Heightmap.Types.OCEAN_FLOOR,
+            Heightmap.Types.MOTION_BLOCKING, Heightmap.Types.MOTION_BLOCKING_NO_LEAVES);
+
+    private final PlotAllocator.Plot plot;
+    private final ServerLevel level;
+    private final long[] sections;
+    private final Runnable then;
+
+    private int next = 0;
+    private long cleared = 0;
+
+    PlotClearJob(PlotAllocator.Plot plot, ServerLevel level, LongSet sections, Runnable then) {
+        this(plot, level, sections.toLongArray(), then);
+    }
+
+    private PlotClearJob(PlotAllocator.Plot plot, ServerLevel level, long[] sections, Runnable then) {
+        this.plot     = plot;
+        this.level    = level;
+        this.sections = sections;
+        this.then     = then;
+    }
+
+    /** Plots clear in their own line, not behind whatever their last owner does next. */
+    @Override
+    public String owner() {
+        return "plot#" + plot.index();
+    }
+
+    /** Ready once the next section's chunk is loaded; until then keeps a ticket on it. */
+    @Override
+    public boolean ready() {
+        if (next >= sections.length) return true;
+        long key = sections[next];
+        int sx = SectionPos.x(key), sz = SectionPos.z(key);
+        if (level.getChunkSource().getChunkNow(sx, sz) != null) return true;
+        ChunkTickets.preload(level, ChunkTickets.PLOT_CLEAR, sx, sz);
+        return false;
+    }
+
+    @Override
+    public boolean step() {
+        if (next < sections.length) {
+            long key = sections[next++];
+            try {
+                cleared += clearSection(key);
+            } catch (Exception e) {
+                Vibebuild.LOGGER.error("[VB] Failed to clear section ({}, {}, {}) of plot {}: {}",
+                        SectionPos.x(key), SectionPos.y(key), SectionPos.z(key), plot.index(), e.getMessage(), e);
+            }
+        }
+        if (next < sections.length) return false;
+
+        then.run();
+        Vibebuild.LOGGER.debug("[VB] Plot {} reset: {} blocks in {} sections", plot.index(), cleared, sections.length);
+        return true;
+    }
+
+    /** Dropped half-way: the plot is not clean yet, so queue the rest rather than leak or hand it out dirty. */
+    @Override
+    public void cancel() {
+        if (next >= sections.length) return;
+        Vibebuild.LOGGER.warn("[VB] Resetting plot {} was interrupted; re-queuing {} section(s)",
+                plot.index(), sections.length - next);
+        Vibebuild.getInstance().getIncrementalExecutor()
+                .submit(new PlotClearJob(plot, level, Arrays.copyOfRange(sections, next, sections.length), then));
+    }
+
+    /** Sets every block of one section to air in memory. Returns how many blocks changed. */
+    private int clearSection(long key) {
+        int sx = SectionPos.x(key), sy = SectionPos.y(key), sz = SectionPos.z(key);
+        if (sy < level.getMinSectionY() || sy > level.getMaxSectionY()) return 0;
+
+        LevelChunk chunk = level.getChunkSource().getChunkNow(sx, sz);
+        if (chunk == null) throw new IllegalStateException("chunk unloaded before it could be cleared");
+        LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sy));
+        if (section.hasOnlyAir()) return 0;
+
+        ServerChunkCache chunks = level.getChunkSource();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int baseX = sx << 4, baseY = sy << 4, baseZ = sz << 4;
+        int changed = 0;
+
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    BlockState old = section.getBlockState(x, y, z);
+                    if (old.isAir()) continue;
+
+                    section.setBlockState(x, y, z, AIR, false);
+                    pos.set(baseX + x, baseY + y, baseZ + z);
+                    if (old.hasBlockEntity()) chunk.removeBlockEntity(pos);
+                    if (PoiTypes.forState(old).isPresent()) level.getPoiManager().remove(pos.immutable());
+                    chunks.blockChanged(pos);
+                    chunks.getLightEngine().checkBlock(pos);
+                    changed++;
+                }
+            }
+        }
+
+        if (section.hasOnlyAir()) {
+            chunks.getLightEngine().updateSectionStatus(SectionPos.of(sx, sy, sz), true);
+            chunks.onSectionEmptinessChanged(sx, sy, sz, true);
+        }
+        Heightmap.primeHeightmaps(chunk, HEIGHTMAPS);
+        chunk.markUnsaved();
+        return changed;
+    }
+}
@@ -0,0 +1,97 @@
+package com.vibebuild.dimension;
+
+import com.sk89q.worldedit.world.block.BaseBlock;
+import net.minecraft.core.SectionPos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse in-memory voxel buffer that stages tool writes for one build session.
+ *
+ * Blocks are grouped per 16x16x16 chunk section. Each section keeps a small
+ * palette of the distinct blocks written into it plus a 4096-entry index array,
+ * so repeated overwrites of the same position only replace an index. Nothing
+ * touches the world until the section is flushed.
+ */
+public class StagingBuffer {
+
+    /** One staged chunk section. Index 0 means "not staged, read through to the world". */
+    static final class Section {
+        final int sectionX, sectionY, sectionZ;
+        final char[] indices = new char[4096];
+        final List<BaseBlock> palette = new ArrayList<>();
+        final Map<BaseBlock, Character> paletteIndex = new HashMap<>();
+        int staged = 0;
+
+        Section(int sectionX, int sectionY, int sectionZ) {
+            this.sectionX = sectionX;
+            this.sectionY = sectionY;
+            this.sectionZ = sectionZ;
+            palette.add(null);
+        }
+
+        /** Returns true if the position was not staged before. */
+        boolean put(int index, BaseBlock block) {
+            Character id = paletteIndex.get(block);
+            if (id == null) {
+                if (palette.size() == Character.MAX_VALUE) {
+                    throw new IllegalStateException("Too many distinct blocks in one chunk section");
+                }
+                id = (char) palette.size();
+                palette.add(block);
+                paletteIndex.put(block, id);
+            }
+            boolean fresh = indices[index] == 0;
+            indices[index] = id;
+            if (fresh) staged++;
+            return fresh;
+        }
+
+        BaseBlock get(int index) {
+            return palette.get(indices[index]);
+        }
+    }
+
+    private final Map<Long, Section> sections = new LinkedHashMap<>();
+    private int stagedBlocks = 0;
+
+    public synchronized void put(int x, int y, int z, BaseBlock block) {
+        int sx = x >> 4, sy = y >> 4, sz = z >> 4;
+        Section section = sections.computeIfAbsent(SectionPos.asLong(sx, sy, sz), k -> new Section(sx, sy, sz));
+        if (section.put(index(x, y, z), block)) stagedBlocks++;
+    }
+
+    /** Returns the staged block at a position, or null if the world copy is current. */
+    public synchronized BaseBlock get(int x, int y, int z) {
+        Section section = sections.get(SectionPos.asLong(x >> 4, y >> 4, z >> 4));
+        return section == null ? null : section.get(index(x, y, z));
+    }
+
+    /** Removes and returns the oldest staged section, or null if nothing is staged. */
+    synchronized Section pollSection() {
+        Iterator<Section> it = sections.values().iterator();
+        if (!it.hasNext()) return null;
+        Section section = it.next();
+        it.remove();
+        stagedBlocks -= section.staged;
+        return section;
+    }
+
+    public synchronized void clear() {
+        sections.clear();
+        stagedBlocks = 0;
+    }
+
+    public synchronized boolean isEmpty()     { return sections.isEmpty(); }
+    public synchronized int     stagedBlocks() { return stagedBlocks; }
+    public synchronized int     sectionCount() { return sections.size(); }
+
+    static int index(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+}
@@ -0,0 +1,46 @@
+package com.vibebuild.dimension;
+
+import com.sk89q.worldedit.extent.AbstractDelegateExtent;
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockStateHolder;
+
+/**
+ * WorldEdit extent that writes into a {@link StagingBuffer} instead of the world.
+ * Reads see staged blocks first, so later tools in the same step build on top of
+ * earlier ones exactly as if the blocks had been placed. Writes that would not
+ * change anything report false, so WorldEdit's counts and the build quota only
+ * see real changes.
+ */
+public class StagingExtent extends AbstractDelegateExtent {
+
+    private final StagingBuffer buffer;
+
+    public StagingExtent(Extent extent, StagingBuffer buffer) {
+        super(extent);
+        this.buffer = buffer;
+    }
+
+    /** Returns false, staging nothing, if the block is already there (staged or in the world). */
+    @Override
+    public <T extends BlockStateHolder<T>> boolean setBlock(BlockVector3 location, T block) {
+        BaseBlock next = block.toBaseBlock();
+        if (next.equals(getFullBlock(location))) return false;
+        buffer.put(location.x(), location.y(), location.z(), next);
+        return true;
+    }
+
+    @Override
+    public BlockState getBlock(BlockVector3 position) {
+        BaseBlock staged = buffer.get(position.x(), position.y(), position.z());
+        return staged != null ? staged.toImmutableState() : super.getBlock(position);
+    }
+
+    @Override
+    public BaseBlock getFullBlock(BlockVector3 position) {
+        BaseBlock staged = buffer.get(position.x(), position.y(), position.z());
+        return staged != null ? staged : super.getFullBlock(position);
+    }
+}
@@ -0,0 +1,94 @@
+package com.vibebuild.dimension;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.fabric.FabricAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.executor.IncrementalExecutor;
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Writes a session's staged blocks into the build dimension, one chunk section
+ * per step, so a big flush is spread over ticks like any other tool work.
+ * Sections stay readable in the buffer until the step that writes them.
+ */
+class StagingFlushJob implements IncrementalExecutor.Job {
+
+    private final String owner;
+    private final StagingBuffer buffer;
+    private final ServerLevel level;
+    private final Runnable then;
+
+    StagingFlushJob(String owner, StagingBuffer buffer, ServerLevel level, Runnable then) {
+        this.owner  = owner;
+        this.buffer = buffer;
+        this.level  = level;
+        this.then   = then;
+    }
+
+    @Override
+    public String owner() {
+        return owner;
+    }
+
+    @Override
+    public boolean writesPlot() {
+        return true;
+    }
+
+    @Override
+    public boolean step() {
+        StagingBuffer.Section section = buffer.pollSection();
+        if (section != null) writeSection(level, section);
+
+        if (!buffer.isEmpty()) return false;
+        if (then != null) then.run();
+        return true;
+    }
+
+    /** Lands any light checks held by the sections already written; the rest of the buffer is dropped. */
+    @Override
+    public void cancel() {
+        BuildSimulation simulation = BuildSimulation.of(level);
+        if (simulation != null) simulation.relight(level);
+    }
+
+    /**
+     * Writes every staged block of one section through a plain (non-staging) EditSession.
+     * Light checks are held for {@link BuildSimulation#relight}, which the caller runs
+     * once the step's sections have all landed.
+     */
+    static void writeSection(ServerLevel level, StagingBuffer.Section section) {
+        BuildSimulation simulation = BuildSimulation.of(level);
+        if (simulation != null) {
+            simulation.deferringLight(() -> write(level, section));
+        } else {
+            write(level, section);
+        }
+    }
+
+    private static void write(ServerLevel level, StagingBuffer.Section section) {
+        World weWorld = FabricAdapter.adapt(level);
+        int baseX = section.sectionX << 4;
+        int baseY = section.sectionY << 4;
+        int baseZ = section.sectionZ << 4;
+
+        try (EditSession es = WorldEdit.getInstance()
+                .newEditSessionBuilder()
+                .world(weWorld)
+                .build()) {
+            if (BuildSimulation.isEnabled()) es.setSideEffectApplier(BuildSimulation.SIDE_EFFECTS);
+            for (int i = 0; i < section.indices.length; i++) {
+                BaseBlock block = section.get(i);
+                if (block == null) continue;
+                es.setBlock(BlockVector3.at(baseX + (i & 15), baseY + (i >> 8), baseZ + ((i >> 4) & 15)), block);
+            }
+        } catch (Exception e) {
+            Vibebuild.LOGGER.error("[VB] Failed to flush staged section ({}, {}, {}): {}",
+                    section.sectionX, section.sectionY, section.sectionZ, e.getMessage(), e);
+        }
+    }
+}
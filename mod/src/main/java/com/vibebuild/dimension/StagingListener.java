@@ -0,0 +1,39 @@
+package com.vibebuild.dimension;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.event.extent.EditSessionEvent;
+import com.sk89q.worldedit.extension.platform.Actor;
+import com.sk89q.worldedit.util.eventbus.Subscribe;
+import com.sk89q.worldedit.world.World;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.session.BuildSession;
+
+/**
+ * Hooks WorldEdit's EditSession creation and slots a {@link StagingExtent} in
+ * front of the build dimension for players whose build is running, with a
+ * {@link DirtyTrackingExtent} on top that records what really changed.
+ *
+ * Sessions without an actor (flushes, clipboard copies) and edits in any other
+ * world go straight through.
+ */
+public class StagingListener {
+
+    @Subscribe
+    public void onEditSession(EditSessionEvent event) {
+        if (event.getStage() != EditSession.Stage.BEFORE_CHANGE) return;
+
+        Actor actor = event.getActor();
+        World world = event.getWorld();
+        if (actor == null || !actor.isPlayer() || world == null) return;
+
+        BuildDimension dimension = Vibebuild.getInstance().getBuildDimension();
+        if (dimension == null || !dimension.isBuildWorld(world)) return;
+
+        BuildSession session = Vibebuild.getInstance().getSessions().get(actor.getName());
+        if (session == null) return;
+        if (session.phase != BuildSession.Phase.PLANNING && session.phase != BuildSession.Phase.BUILDING) return;
+
+        event.setExtent(new DirtyTrackingExtent(
+                new StagingExtent(event.getExtent(), session.staging), session.dirty));
+    }
+}
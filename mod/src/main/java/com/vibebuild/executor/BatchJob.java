@@ -0,0 +1,96 @@
+package com.vibebuild.executor;
+
+import com.google.gson.JsonObject;
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.extension.platform.Actor;
+import com.sk89q.worldedit.fabric.FabricAdapter;
+import com.sk89q.worldedit.world.World;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.session.BuildSession;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A tool_batch on the {@link IncrementalExecutor}: every call runs inside one
+ * EditSession, one call per step, and the session is flushed once at the end.
+ */
+class BatchJob implements IncrementalExecutor.Job {
+
+    private final ToolExecutor executor;
+    private final BuildSession session;
+    private final List<ToolCall> calls;
+    private final Consumer<List<JsonObject>> onComplete;
+    private final List<JsonObject> results;
+
+    private EditSession editSession;
+    private World weWorld;
+    private Actor actor;
+
+    BatchJob(ToolExecutor executor, BuildSession session, List<ToolCall> calls,
+             Consumer<List<JsonObject>> onComplete) {
+        this.executor   = executor;
+        this.session    = session;
+        this.calls      = calls;
+        this.onComplete = onComplete;
+        this.results    = new ArrayList<>(calls.size());
+    }
+
+    @Override
+    public String owner() {
+        return session.playerName;
+    }
+
+    @Override
+    public boolean writesPlot() {
+        return true;
+    }
+
+    @Override
+    public boolean step() {
+        if (calls.isEmpty()) return finish();
+
+        ServerPlayer player = Vibebuild.getInstance().getServer().getPlayerList().getPlayerByName(session.playerName);
+        if (player == null) {
+            while (results.size() < calls.size()) {
+                results.add(ToolExecutor.result(false, "Player left before the batch finished"));
+            }
+            return finish();
+        }
+
+        if (editSession == null) {
+            weWorld = FabricAdapter.adapt(player.level());
+            actor   = FabricAdapter.adaptPlayer(player);
+            editSession = QuotaListener.newSession(weWorld, actor);
+        }
+
+        ToolCall call = calls.get(results.size());
+        results.add(executor.executeInSession(editSession, weWorld, actor, player, session, call.name(), call.args()));
+
+        if (results.size() < calls.size()) return false;
+        return finish();
+    }
+
+    @Override
+    public void cancel() {
+        closeSession();
+    }
+
+    private boolean finish() {
+        closeSession();
+        onComplete.accept(results);
+        return true;
+    }
+
+    private void closeSession() {
+        if (editSession == null) return;
+        try {
+            editSession.close();
+        } catch (Exception e) {
+            Vibebuild.LOGGER.error("[VB] Failed to flush batch for {}: {}", session.playerName, e.getMessage(), e);
+        }
+        editSession = null;
+    }
+}
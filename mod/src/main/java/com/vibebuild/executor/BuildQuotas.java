@@ -0,0 +1,163 @@
+package com.vibebuild.executor;
+
+import com.vibebuild.VbConfig;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fair-share limits on how many blocks each player's work may change.
+ *
+ * Two limits apply, both counted in blocks written through WorldEdit (see
+ * {@link QuotaListener}):
+ * <ul>
+ *   <li>Per tick, {@link VbConfig#QUOTA_BLOCKS_PER_TICK} is shared by every
+ *       player with work queued, in proportion to their {@link Priority}
+ *       weight. A lone builder gets all of it.</li>
+ *   <li>Per rolling minute, each player may change
+ *       {@link VbConfig#QUOTA_BLOCKS_PER_MINUTE} blocks, scaled by their
+ *       weight relative to {@link Priority#NORMAL}.</li>
+ * </ul>
+ * A player over either limit is skipped by the {@link IncrementalExecutor} like
+ * a job that is not ready, so their work waits while everyone else's runs. One
+ * step can overshoot (a slice is not split further); the excess is carried into
+ * the next tick. All methods run on the server thread.
+ */
+public class BuildQuotas {
+
+    public enum Priority {
+        LOW(1), NORMAL(2), HIGH(4);
+
+        final int weight;
+
+        Priority(int weight) {
+            this.weight = weight;
+        }
+
+        public static Priority parse(String s) {
+            return valueOf(s.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /** One player's counters. The minute is kept as 60 one-second buckets. */
+    public static final class Usage {
+        private final long[] seconds = new long[60];
+        private long lastSecond;
+        private long tickBlocks;
+        private long minuteBlocks;
+        private long totalBlocks;
+        private long throttledTicks;
+        private boolean throttledThisTick;
+
+        public long getTickBlocks()     { return tickBlocks; }
+        public long getMinuteBlocks()   { return minuteBlocks; }
+        public long getTotalBlocks()    { return totalBlocks; }
+        public long getThrottledTicks() { return throttledTicks; }
+    }
+
+    private static final int TICKS_PER_SECOND = 20;
+
+    private final Map<String, Usage>    usage      = new HashMap<>();
+    private final Map<String, Priority> priorities = new HashMap<>();
+
+    private long tick = 0;
+    private int  activeWeight = 0;
+
+    // ── Priority ──
+
+    public Priority getPriority(String owner) {
+        return priorities.getOrDefault(owner, Priority.NORMAL);
+    }
+
+    public void setPriority(String owner, Priority priority) {
+        priorities.put(owner, priority);
+    }
+
+    /** Sets the class a player starts with unless an operator already picked one. */
+    public void setDefaultPriority(String owner, Priority priority) {
+        priorities.putIfAbsent(owner, priority);
+    }
+
+    // ── Accounting ──
+
+    /** Records blocks changed by a player's work. */
+    public void charge(String owner, long blocks) {
+        if (blocks <= 0) return;
+        Usage u = usageOf(owner);
+        roll(u);
+        u.tickBlocks   += blocks;
+        u.minuteBlocks += blocks;
+        u.totalBlocks  += blocks;
+        u.seconds[(int) (u.lastSecond % u.seconds.length)] += blocks;
+    }
+
+    /** True if the player is within both limits and may run another step this tick. */
+    public boolean allows(String owner) {
+        Usage u = usage.get(owner);
+        if (u == null) return true;
+        roll(u);
+        boolean ok = u.tickBlocks < tickLimit(owner) && u.minuteBlocks < minuteLimit(owner);
+        if (!ok && !u.throttledThisTick) {
+            u.throttledThisTick = true;
+            u.throttledTicks++;
+        }
+        return ok;
+    }
+
+    /**
+     * Starts a new tick. {@code active} are the players with work queued; the
+     * per-tick budget is split between them.
+     */
+    void tick(Collection<String> active) {
+        tick++;
+        usage.entrySet().removeIf(e -> {
+            Usage u = e.getValue();
+            // Carry any overshoot so one huge step is paid for over the following ticks
+            u.tickBlocks = Math.max(0, u.tickBlocks - tickLimit(e.getKey()));
+            u.throttledThisTick = false;
+            roll(u);
+            return u.minuteBlocks == 0 && u.tickBlocks == 0 && !active.contains(e.getKey());
+        });
+
+        activeWeight = 0;
+        for (String owner : active) activeWeight += getPriority(owner).weight;
+    }
+
+    public long tickLimit(String owner) {
+        int weight = getPriority(owner).weight;
+        return Math.max(1, (long) VbConfig.QUOTA_BLOCKS_PER_TICK * weight / Math.max(weight, activeWeight));
+    }
+
+    public long minuteLimit(String owner) {
+        return (long) VbConfig.QUOTA_BLOCKS_PER_MINUTE * getPriority(owner).weight / Priority.NORMAL.weight;
+    }
+
+    /** Players with recent usage, by name. */
+    public Map<String, Usage> snapshot() {
+        return new TreeMap<>(usage);
+    }
+
+    private Usage usageOf(String owner) {
+        return usage.computeIfAbsent(owner, k -> {
+            Usage u = new Usage();
+            u.lastSecond = tick / TICKS_PER_SECOND;
+            return u;
+        });
+    }
+
+    /** Drops the seconds that have left the one-minute window. */
+    private void roll(Usage u) {
+        long now = tick / TICKS_PER_SECOND;
+        if (now == u.lastSecond) return;
+        long steps = Math.min(now - u.lastSecond, u.seconds.length);
+        for (long s = 1; s <= steps; s++) {
+            int slot = (int) ((u.lastSecond + s) % u.seconds.length);
+            u.minuteBlocks -= u.seconds[slot];
+            u.seconds[slot] = 0;
+        }
+        u.lastSecond = now;
+    }
+}
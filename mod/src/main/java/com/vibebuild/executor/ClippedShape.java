@@ -0,0 +1,26 @@
+package com.vibebuild.executor;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.Region;
+import com.sk89q.worldedit.regions.shape.ArbitraryShape;
+import com.sk89q.worldedit.world.block.BaseBlock;
+
+/**
+ * A shape generated over one slice only. WorldEdit visits just the slice, but
+ * membership (and so a hollow shell's edge) is judged against the whole shape,
+ * so the slices of a call together give exactly the blocks of a one-go run.
+ */
+class ClippedShape extends ArbitraryShape {
+
+    private final Region shape;
+
+    ClippedShape(Region slice, Region shape) {
+        super(slice);
+        this.shape = shape;
+    }
+
+    @Override
+    protected BaseBlock getMaterial(int x, int y, int z, BaseBlock defaultMaterial) {
+        return shape.contains(BlockVector3.at(x, y, z)) ? defaultMaterial : null;
+    }
+}
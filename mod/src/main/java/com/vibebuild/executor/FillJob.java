@@ -0,0 +1,170 @@
+package com.vibebuild.executor;
+
+import com.google.gson.JsonObject;
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.extension.platform.Actor;
+import com.sk89q.worldedit.fabric.FabricAdapter;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.math.Vector3;
+import com.sk89q.worldedit.regions.EllipsoidRegion;
+import com.sk89q.worldedit.world.World;
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.session.BuildSession;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.function.Consumer;
+
+/**
+ * A large we_fill spread over ticks.
+ *
+ * WorldEdit's non-recursive fill floods the start layer sideways and then runs
+ * every reached column straight down, through air, inside a sphere of the fill
+ * radius and no deeper than {@code depth}. This job does the same in steps: the
+ * first step floods and fills the start layer, and each later step carries the
+ * open columns down as many layers as fit in {@link VbConfig#SLICE_VOLUME}
+ * positions. A column closes at the first block that is not air or is outside
+ * the sphere.
+ */
+class FillJob implements IncrementalExecutor.Job {
+
+    private static final int[][] SIDES = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    private final ToolExecutor executor;
+    private final BuildSession session;
+    private final ToolArgs args;
+    private final Consumer<JsonObject> onComplete;
+
+    private final BlockVector3 origin;
+    private final EllipsoidRegion sphere;
+    private final int floorY;
+
+    /** Columns still running down, as packed (x, z). */
+    private LongArrayList columns;
+    private int y;
+    private int count = 0;
+    private int steps = 0;
+
+    FillJob(ToolExecutor executor, BuildSession session, ToolArgs args, int minY, Consumer<JsonObject> onComplete) {
+        this.executor   = executor;
+        this.session    = session;
+        this.args       = args;
+        this.onComplete = onComplete;
+        this.origin     = args.vec("position");
+        int radius      = args.integer("radius");
+        this.sphere     = new EllipsoidRegion(origin, Vector3.at(radius, radius, radius));
+        this.floorY     = Math.max(minY, origin.y() - args.integer("depth", 512) + 1);
+        this.y          = origin.y();
+    }
+
+    /** Positions a fill of this size may visit, at most: its radius-bounded footprint times its depth. */
+    static long volume(ToolArgs a, int minY) {
+        BlockVector3 p = a.vec("position");
+        long r = a.integer("radius");
+        long depth = Math.min(r + 1, p.y() - Math.max(minY, p.y() - a.integer("depth", 512) + 1) + 1L);
+        return (2 * r + 1) * (2 * r + 1) * Math.max(1, depth);
+    }
+
+    @Override
+    public String owner() {
+        return session.playerName;
+    }
+
+    @Override
+    public boolean writesPlot() {
+        return true;
+    }
+
+    @Override
+    public boolean step() {
+        ServerPlayer player = Vibebuild.getInstance().getServer().getPlayerList().getPlayerByName(session.playerName);
+        if (player == null) {
+            onComplete.accept(ToolExecutor.result(false, "Player left before we_fill finished"));
+            return true;
+        }
+
+        World weWorld = FabricAdapter.adapt(player.level());
+        Actor actor = FabricAdapter.adaptPlayer(player);
+        try (EditSession es = QuotaListener.newSession(weWorld, actor)) {
+            Pattern pattern = executor.getParseCache().pattern(weWorld, actor, args.string("pattern"));
+            if (columns == null) {
+                floodTopLayer(es, pattern);
+            } else {
+                fillDown(es, pattern);
+            }
+        } catch (Exception e) {
+            Vibebuild.LOGGER.error("[VB] Tool 'we_fill' failed on step {}: {}", steps + 1, e.getMessage(), e);
+            onComplete.accept(ToolExecutor.result(false, String.format(
+                    "we_fill failed on step %d after %d blocks: %s", steps + 1, count, e.getMessage())));
+            return true;
+        }
+        steps++;
+
+        if (!columns.isEmpty() && y >= floorY) return false;
+        onComplete.accept(ToolExecutor.result(true, count + " fill blocks set (" + steps + " steps)"));
+        return true;
+    }
+
+    /** Floods the start layer sideways and fills it; every filled position opens a column. */
+    private void floodTopLayer(EditSession es, Pattern pattern) throws Exception {
+        columns = new LongArrayList();
+        if (y >= floorY) {
+            LongSet seen = new LongOpenHashSet();
+            LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+            long start = pack(origin.x(), origin.z());
+            seen.add(start);
+            queue.enqueue(start);
+            while (!queue.isEmpty()) {
+                long xz = queue.dequeueLong();
+                int x = unpackX(xz), z = unpackZ(xz);
+                if (!fill(es, pattern, x, z)) continue;
+                columns.add(xz);
+                for (int[] d : SIDES) {
+                    long next = pack(x + d[0], z + d[1]);
+                    if (seen.add(next)) queue.enqueue(next);
+                }
+            }
+        }
+        y--;
+    }
+
+    /** Carries the open columns down, one layer at a time, until the step's budget is used. */
+    private void fillDown(EditSession es, Pattern pattern) throws Exception {
+        long budget = Math.max(1, VbConfig.SLICE_VOLUME);
+        while (budget > 0 && y >= floorY && !columns.isEmpty()) {
+            LongArrayList open = new LongArrayList(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                long xz = columns.getLong(i);
+                if (fill(es, pattern, unpackX(xz), unpackZ(xz))) open.add(xz);
+            }
+            budget -= columns.size();
+            columns = open;
+            y--;
+        }
+    }
+
+    /** Fills (x, y, z) if it is air inside the sphere. Returns false if the column stops here. */
+    private boolean fill(EditSession es, Pattern pattern, int x, int z) throws Exception {
+        BlockVector3 pos = BlockVector3.at(x, y, z);
+        if (!sphere.contains(pos) || !es.getBlock(pos).getBlockType().getMaterial().isAir()) return false;
+        if (es.setBlock(pos, pattern.applyBlock(pos))) count++;
+        return true;
+    }
+
+    private static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int unpackX(long xz) {
+        return (int) (xz >> 32);
+    }
+
+    private static int unpackZ(long xz) {
+        return (int) xz;
+    }
+}
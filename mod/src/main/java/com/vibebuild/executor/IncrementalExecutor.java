@@ -0,0 +1,171 @@
+package com.vibebuild.executor;
+
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs tool work on the server thread under a per-tick time budget.
+ *
+ * Jobs are queued per player and advanced one step at a time, rotating between
+ * players so one large edit cannot hold up everyone else. Whatever does not fit
+ * in the budget is picked up again on the next tick. Players over their
+ * {@link BuildQuotas} share are skipped until it refills. All methods must be
+ * called on the server thread.
+ */
+public class IncrementalExecutor {
+
+    /** A unit of resumable work. Each call to {@link #step()} should do a bounded amount of it. */
+    public interface Job {
+        /** Player name the job belongs to; jobs of one player run strictly in order. */
+        String owner();
+
+        /** Runs the next slice of work. Returns true once the job is finished. */
+        boolean step();
+
+        /**
+         * False if the job cannot make progress right now (e.g. its per-tick quota is
+         * used up or it is waiting for chunks). Waiting jobs keep their place in line.
+         */
+        default boolean ready() { return true; }
+
+        /** Called when the job is dropped before finishing, to release anything it holds open. */
+        default void cancel() {}
+
+        /** True if the job writes into its owner's build plot, so it must not outlive the plot. */
+        default boolean writesPlot() { return false; }
+    }
+
+    private final long budgetNanos = VbConfig.TICK_BUDGET_MS * 1_000_000L;
+
+    private final Map<String, ArrayDeque<Job>> queues = new HashMap<>();
+    private final ArrayDeque<String> rotation = new ArrayDeque<>();
+    private final BuildQuotas quotas = new BuildQuotas();
+
+    /** Time already spent since the last tick started. */
+    private long spentThisTick = 0;
+
+    /** Set while jobs are running, so a job that submits more work does not re-enter the loop. */
+    private boolean draining = false;
+
+    /** Queues a job and runs as much of it right away as the remaining tick budget allows. */
+    public void submit(Job job) {
+        ArrayDeque<Job> queue = queues.computeIfAbsent(job.owner(), k -> new ArrayDeque<>());
+        if (queue.isEmpty()) rotation.addLast(job.owner());
+        queue.addLast(job);
+        drain(false);
+    }
+
+    /** Called at the end of every server tick. */
+    public void tick() {
+        spentThisTick = 0;
+        quotas.tick(queues.keySet());
+        drain(true);
+    }
+
+    public BuildQuotas getQuotas() {
+        return quotas;
+    }
+
+    /** Drops all queued work for a player (e.g. after /vb cancel). */
+    public void cancel(String owner) {
+        ArrayDeque<Job> queue = queues.remove(owner);
+        rotation.remove(owner);
+        if (queue != null && !queue.isEmpty()) {
+            queue.forEach(Job::cancel);
+            Vibebuild.LOGGER.info("[VB] Dropped {} queued tool job(s) for {}", queue.size(), owner);
+        }
+    }
+
+    /**
+     * Drops the queued jobs of a player that write into their build plot, keeping
+     * the rest (a paste into the player's own world) in order.
+     */
+    public void cancelPlotWork(String owner) {
+        ArrayDeque<Job> queue = queues.get(owner);
+        if (queue == null) return;
+        List<Job> dropped = new ArrayList<>();
+        queue.removeIf(job -> job.writesPlot() && dropped.add(job));
+        if (queue.isEmpty()) {
+            queues.remove(owner);
+            rotation.remove(owner);
+        }
+        if (!dropped.isEmpty()) {
+            dropped.forEach(Job::cancel);
+            Vibebuild.LOGGER.info("[VB] Dropped {} queued plot job(s) for {}", dropped.size(), owner);
+        }
+    }
+
+    /** Number of jobs waiting for one player. */
+    public int pendingJobs(String owner) {
+        ArrayDeque<Job> queue = queues.get(owner);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /** Number of jobs waiting across all players. */
+    public int pendingJobs() {
+        int n = 0;
+        for (ArrayDeque<Job> q : queues.values()) n += q.size();
+        return n;
+    }
+
+    private void drain(boolean guaranteeProgress) {
+        if (draining) return;
+        draining = true;
+        try {
+            drainLoop(guaranteeProgress);
+        } finally {
+            draining = false;
+        }
+    }
+
+    private void drainLoop(boolean guaranteeProgress) {
+        long start = System.nanoTime();
+        boolean ranOne = false;
+        int waiting = 0;   // consecutive owners skipped because their job was not ready or over quota
+
+        while (!rotation.isEmpty() && waiting < rotation.size()) {
+            long elapsed = System.nanoTime() - start;
+            if (spentThisTick + elapsed >= budgetNanos && (ranOne || !guaranteeProgress)) break;
+
+            String owner = rotation.pollFirst();
+            ArrayDeque<Job> queue = queues.get(owner);
+            if (queue == null || queue.isEmpty()) {
+                queues.remove(owner);
+                continue;
+            }
+
+            Job job = queue.peekFirst();
+            if (!quotas.allows(owner) || !job.ready()) {
+                rotation.addLast(owner);
+                waiting++;
+                continue;
+            }
+            waiting = 0;
+
+            boolean finished;
+            try {
+                finished = job.step();
+            } catch (Exception e) {
+                Vibebuild.LOGGER.error("[VB] Tool job for {} crashed: {}", owner, e.getMessage(), e);
+                job.cancel();
+                finished = true;
+            }
+            ranOne = true;
+
+            if (finished) queue.removeFirstOccurrence(job);   // the job may already have been cancelled
+            if (queue.isEmpty()) {
+                queues.remove(owner);
+            } else {
+                rotation.addLast(owner);
+            }
+        }
+
+        spentThisTick += System.nanoTime() - start;
+    }
+}
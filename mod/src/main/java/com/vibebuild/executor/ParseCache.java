@@ -0,0 +1,108 @@
+package com.vibebuild.executor;
+
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.extension.input.InputParseException;
+import com.sk89q.worldedit.extension.input.ParserContext;
+import com.sk89q.worldedit.extension.platform.Actor;
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.function.mask.Mask;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.world.World;
+import com.vibebuild.VbConfig;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded per-world LRU cache of parsed WorldEdit patterns.
+ *
+ * Only plain block lists are cached ("stone_bricks", "50%stone,50%cobblestone",
+ * "oak_stairs[facing=north]"). Anything that reads state at parse time — the
+ * clipboard, the actor's hand or selection, tags, expressions, NBT — is parsed
+ * fresh every time. Masks are never cached: they hold the EditSession they were
+ * parsed against, so a cached one would keep closed sessions alive and could
+ * only be reused within the session that made it.
+ */
+public class ParseCache {
+
+    private static final String ENTRY =
+            "(\\d+(\\.\\d+)?%)?\\*?[a-z0-9_.\\-]+(:[a-z0-9_./\\-]+)?" +
+            "(\\[[a-z0-9_]+=[a-z0-9_]+(,[a-z0-9_]+=[a-z0-9_]+)*])?";
+
+    private static final java.util.regex.Pattern PLAIN_BLOCK_LIST =
+            java.util.regex.Pattern.compile(ENTRY + "(," + ENTRY + ")*",
+                    java.util.regex.Pattern.CASE_INSENSITIVE);
+
+    /** Block-list keywords that resolve against the actor rather than the registry. */
+    private static final java.util.regex.Pattern ACTOR_BOUND =
+            java.util.regex.Pattern.compile("(^|[,%*])(hand|offhand|pos1)($|[,\\[])",
+                    java.util.regex.Pattern.CASE_INSENSITIVE);
+
+    private final int capacity = Math.max(1, VbConfig.PATTERN_CACHE_SIZE);
+
+    private final Map<String, Map<String, Pattern>> patterns = new HashMap<>();
+
+    private long patternHits, patternMisses;
+
+    public synchronized Pattern pattern(World world, Actor actor, String raw) throws InputParseException {
+        String key = raw.trim();
+        if (!isCacheable(key)) {
+            patternMisses++;
+            return WorldEdit.getInstance().getPatternFactory().parseFromInput(raw, context(world, actor, null));
+        }
+
+        Map<String, Pattern> cache = patterns.computeIfAbsent(world.getName(), k -> newLru());
+        Pattern cached = cache.get(key);
+        if (cached != null) {
+            patternHits++;
+            return cached;
+        }
+
+        patternMisses++;
+        Pattern parsed = WorldEdit.getInstance().getPatternFactory().parseFromInput(key, context(world, actor, null));
+        cache.put(key, parsed);
+        return parsed;
+    }
+
+    /** Parses a mask against {@code extent}. Not cached; see the class comment. */
+    public Mask mask(World world, Actor actor, Extent extent, String raw) throws InputParseException {
+        return WorldEdit.getInstance().getMaskFactory().parseFromInput(raw, context(world, actor, extent));
+    }
+
+    public synchronized void clear() {
+        patterns.clear();
+    }
+
+    /** One-line summary of hit/miss counters for logs and /vb admin stats. */
+    public synchronized String describe() {
+        return String.format("patterns %d hit / %d miss", patternHits, patternMisses);
+    }
+
+    public synchronized long getPatternHits()   { return patternHits; }
+    public synchronized long getPatternMisses() { return patternMisses; }
+
+    /** True if the input is a plain block list whose parse result does not depend on context. */
+    static boolean isCacheable(String raw) {
+        return !raw.isEmpty()
+                && PLAIN_BLOCK_LIST.matcher(raw).matches()
+                && !ACTOR_BOUND.matcher(raw).find();
+    }
+
+    private static ParserContext context(World world, Actor actor, Extent extent) {
+        ParserContext ctx = new ParserContext();
+        ctx.setWorld(world);
+        ctx.setActor(actor);
+        if (extent != null) ctx.setExtent(extent);
+        return ctx;
+    }
+
+    private Map<String, Pattern> newLru() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+}
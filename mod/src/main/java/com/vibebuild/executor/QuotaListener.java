@@ -0,0 +1,75 @@
+package com.vibebuild.executor;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.event.extent.EditSessionEvent;
+import com.sk89q.worldedit.extension.platform.Actor;
+import com.sk89q.worldedit.extent.AbstractDelegateExtent;
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.util.eventbus.Subscribe;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.block.BlockStateHolder;
+import com.vibebuild.Vibebuild;
+
+/**
+ * Hooks WorldEdit's EditSession creation and counts the blocks vibe-build's own
+ * edits write, charging them to the player's {@link BuildQuotas}.
+ *
+ * Only EditSessions opened through {@link #newSession} are counted: tool calls,
+ * batches and /vb paste, which all run on the {@link IncrementalExecutor} that
+ * enforces the quota. A player's ordinary WorldEdit commands are left alone.
+ * Staging flushes are not charged either: a flush only lands blocks that were
+ * already counted when they were staged.
+ */
+public class QuotaListener {
+
+    /** Set while {@link #newSession} builds a session; WorldEdit fires the event from inside build(). */
+    private static final ThreadLocal<Boolean> CHARGED = new ThreadLocal<>();
+
+    /** Opens an EditSession for vibe-build work whose writes count against the actor's quota. */
+    public static EditSession newSession(World world, Actor actor) {
+        CHARGED.set(Boolean.TRUE);
+        try {
+            return WorldEdit.getInstance()
+                    .newEditSessionBuilder()
+                    .world(world)
+                    .actor(actor)
+                    .build();
+        } finally {
+            CHARGED.remove();
+        }
+    }
+
+    @Subscribe
+    public void onEditSession(EditSessionEvent event) {
+        if (event.getStage() != EditSession.Stage.BEFORE_CHANGE) return;
+        if (CHARGED.get() == null) return;
+
+        Actor actor = event.getActor();
+        if (actor == null || !actor.isPlayer()) return;
+
+        BuildQuotas quotas = Vibebuild.getInstance().getIncrementalExecutor().getQuotas();
+        event.setExtent(new CountingExtent(event.getExtent(), quotas, actor.getName()));
+    }
+
+    private static final class CountingExtent extends AbstractDelegateExtent {
+
+        private final BuildQuotas quotas;
+        private final String owner;
+
+        CountingExtent(Extent extent, BuildQuotas quotas, String owner) {
+            super(extent);
+            this.quotas = quotas;
+            this.owner  = owner;
+        }
+
+        @Override
+        public <T extends BlockStateHolder<T>> boolean setBlock(BlockVector3 location, T block) throws WorldEditException {
+            boolean set = super.setBlock(location, block);
+            if (set) quotas.charge(owner, 1);
+            return set;
+        }
+    }
+}
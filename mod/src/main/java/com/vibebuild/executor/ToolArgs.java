@@ -0,0 +1,114 @@
+package com.vibebuild.executor;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.util.Direction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoded, validated arguments of one tool call.
+ *
+ * Built by {@link ToolSchema#read} on the WebSocket thread, so every value is
+ * already of its declared type (vectors are {@link BlockVector3}, directions are
+ * {@link Direction}, enums are lower-case strings) and every required field is
+ * present. Reading them on the server thread is a map lookup.
+ *
+ * Positions are in the plan's coordinates until {@link #translated} moves them
+ * into the session's build plot.
+ */
+public final class ToolArgs {
+
+    private final Map<String, Object> values;
+    private final BlockVector3 shift;
+
+    ToolArgs(Map<String, Object> values) {
+        this(values, BlockVector3.ZERO);
+    }
+
+    private ToolArgs(Map<String, Object> values, BlockVector3 shift) {
+        this.values = values;
+        this.shift  = shift;
+    }
+
+    /** A copy with every position (and position list) moved by {@code by}. */
+    public ToolArgs translated(BlockVector3 by) {
+        if (by.equals(BlockVector3.ZERO)) return this;
+        Map<String, Object> moved = new HashMap<>(values);
+        moved.replaceAll((key, v) -> {
+            if (v instanceof BlockVector3 p) return p.add(by);
+            if (v instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof BlockVector3) {
+                return list.stream().map(p -> ((BlockVector3) p).add(by)).toList();
+            }
+            return v;
+        });
+        return new ToolArgs(moved, shift.add(by));
+    }
+
+    /**
+     * How far {@link #translated} moved the positions from plan coordinates.
+     * Expression tools subtract it so expressions still see plan coordinates.
+     */
+    public BlockVector3 shift() {
+        return shift;
+    }
+
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    public BlockVector3 vec(String key) {
+        return (BlockVector3) require(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<BlockVector3> vecs(String key) {
+        return (List<BlockVector3>) require(key);
+    }
+
+    public int integer(String key) {
+        return (Integer) require(key);
+    }
+
+    public int integer(String key, int fallback) {
+        Object v = values.get(key);
+        return v != null ? (Integer) v : fallback;
+    }
+
+    public double decimal(String key) {
+        return (Double) require(key);
+    }
+
+    public double decimal(String key, double fallback) {
+        Object v = values.get(key);
+        return v != null ? (Double) v : fallback;
+    }
+
+    /** False when absent. */
+    public boolean bool(String key) {
+        return Boolean.TRUE.equals(values.get(key));
+    }
+
+    /** Empty string when absent. */
+    public String string(String key) {
+        Object v = values.get(key);
+        return v != null ? (String) v : "";
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> strings(String key) {
+        Object v = values.get(key);
+        return v != null ? (List<String>) v : List.of();
+    }
+
+    public Direction direction(String key) {
+        return (Direction) require(key);
+    }
+
+    private Object require(String key) {
+        Object v = values.get(key);
+        if (v == null) throw new IllegalArgumentException("Missing argument: " + key);
+        return v;
+    }
+}
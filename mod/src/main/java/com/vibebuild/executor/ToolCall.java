@@ -0,0 +1,13 @@
+package com.vibebuild.executor;
+
+/**
+ * One tool call from the server: its call id, sequence number ({@code -1} if
+ * unnumbered), tool name and decoded args. {@code error} is non-null when the
+ * call was rejected while decoding; {@code args} is null in that case.
+ */
+public record ToolCall(String toolCallId, long seq, String name, ToolArgs args, String error) {
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
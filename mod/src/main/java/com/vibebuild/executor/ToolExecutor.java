@@ -1,10 +1,7 @@
 package com.vibebuild.executor;
 
 import com.google.gson.JsonObject;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.sk89q.worldedit.EditSession;
-import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.extension.platform.Actor;
 import com.sk89q.worldedit.fabric.FabricAdapter;
 import com.sk89q.worldedit.function.mask.Mask;
@@ -12,8 +9,10 @@ import com.sk89q.worldedit.function.pattern.Pattern;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.math.Vector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.EllipsoidRegion;
 import com.sk89q.worldedit.util.Direction;
 import com.sk89q.worldedit.world.World;
+import com.vibebuild.VbConfig;
 import com.vibebuild.Vibebuild;
 import com.vibebuild.session.BuildSession;
 import net.minecraft.core.BlockPos;
@@ -32,17 +31,93 @@ import net.minecraft.world.level.block.state.BlockState;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Routes tool_call messages from the vibe-build server to the WorldEdit Java API.
  */
 public class ToolExecutor {
 
-    public JsonObject execute(ServerPlayer player, BuildSession session, String toolName, JsonObject args) {
+    private final ParseCache parseCache = new ParseCache();
+
+    public ParseCache getParseCache() { return parseCache; }
+
+    /**
+     * Queues a tool call on the incremental executor and reports its result through
+     * {@code onComplete} (on the server thread). Large edits are split into steps
+     * that are applied across ticks under the tick budget (see {@link #splitJob}).
+     * Positions are moved from plan coordinates into the session's build plot first.
+     */
+    public void submit(ServerPlayer player, BuildSession session, String toolName, ToolArgs args,
+                       Consumer<JsonObject> onComplete) {
+        args = args.translated(plotOffset(session));
+        IncrementalExecutor.Job job = splitJob(player, session, toolName, args, onComplete);
+        Vibebuild.getInstance().getIncrementalExecutor()
+                .submit(job != null ? job : new ToolJob(this, session, toolName, args, null, onComplete));
+    }
+
+    /**
+     * Queues an ordered batch of tool calls. Runs of calls that fit in one step share
+     * one EditSession, one call per step; a call big enough to be sliced is taken out
+     * of the batch and runs as its own job (see {@link #splitJob}) at its place in the
+     * order, so batching never bypasses the tick budget. {@code onComplete} receives
+     * one result per call in the original order once every part has finished.
+     */
+    public void submitBatch(ServerPlayer player, BuildSession session, List<ToolCall> calls,
+                            Consumer<List<JsonObject>> onComplete) {
+        BlockVector3 offset = plotOffset(session);
+        List<ToolCall> placed = calls.stream()
+                .map(c -> new ToolCall(c.toolCallId(), c.seq(), c.name(), c.args().translated(offset), c.error()))
+                .toList();
+
+        JsonObject[] results = new JsonObject[placed.size()];
+        int[] pending = {0};
+        List<IncrementalExecutor.Job> jobs = new ArrayList<>();
+        int runStart = 0;
+        for (int i = 0; i <= placed.size(); i++) {
+            IncrementalExecutor.Job split = null;
+            if (i < placed.size()) {
+                int at = i;
+                ToolCall call = placed.get(i);
+                split = splitJob(player, session, call.name(), call.args(), result -> {
+                    results[at] = result;
+                    if (--pending[0] == 0) onComplete.accept(List.of(results));
+                });
+                if (split == null) continue;
+            }
+
+            if (i > runStart) {
+                int at = runStart;
+                jobs.add(new BatchJob(this, session, placed.subList(runStart, i), part -> {
+                    for (int k = 0; k < part.size(); k++) results[at + k] = part.get(k);
+                    if (--pending[0] == 0) onComplete.accept(List.of(results));
+                }));
+            }
+            if (split != null) jobs.add(split);
+            runStart = i + 1;
+        }
+
+        if (jobs.isEmpty()) {
+            onComplete.accept(List.of());
+            return;
+        }
+        pending[0] = jobs.size();
+        IncrementalExecutor incremental = Vibebuild.getInstance().getIncrementalExecutor();
+        for (IncrementalExecutor.Job job : jobs) incremental.submit(job);
+    }
+
+    private static BlockVector3 plotOffset(BuildSession session) {
+        return BlockVector3.at(session.plotOffsetX, 0, session.plotOffsetZ);
+    }
+
+    public JsonObject execute(ServerPlayer player, BuildSession session, String toolName, ToolArgs args) {
         // Handle non-WorldEdit tools that use native Minecraft API
         if (toolName.equals("place_sign")) {
             try {
-                String msg = execPlaceSign(player, args);
+                // Signs bypass WorldEdit, so staged writes must land first or they'd overwrite it
+                Vibebuild.getInstance().getBuildDimension().flushStagingNow(session);
+                String msg = execPlaceSign(player, session, args);
                 return result(true, msg);
             } catch (Exception e) {
                 Vibebuild.LOGGER.error("[VB] Tool '{}' failed: {}", toolName, e.getMessage(), e);
@@ -53,11 +128,7 @@ public class ToolExecutor {
         try {
             World weWorld = FabricAdapter.adapt(player.level());
             Actor actor = FabricAdapter.adaptPlayer(player);
-            try (EditSession editSession = WorldEdit.getInstance()
-                    .newEditSessionBuilder()
-                    .world(weWorld)
-                    .actor(actor)
-                    .build()) {
+            try (EditSession editSession = QuotaListener.newSession(weWorld, actor)) {
 
                 String msg = dispatch(editSession, weWorld, actor, toolName, args);
                 return result(true, msg);
@@ -68,27 +139,179 @@ public class ToolExecutor {
         }
     }
 
-    public void updateBounds(BuildSession session, String toolName, JsonObject args) {
+    /**
+     * Runs one call of a batch inside the batch's shared EditSession. Failures are
+     * caught and returned as a failed result so the rest of the batch keeps going.
+     */
+    JsonObject executeInSession(EditSession es, World weWorld, Actor actor, ServerPlayer player,
+                                BuildSession session, String toolName, ToolArgs args) {
+        try {
+            if (toolName.equals("place_sign")) {
+                // Signs go straight to the level; land pending WE writes first so they can't clobber it
+                es.flushSession();
+                Vibebuild.getInstance().getBuildDimension().flushStagingNow(session);
+                return result(true, execPlaceSign(player, session, args));
+            }
+            return result(true, dispatch(es, weWorld, actor, toolName, args));
+        } catch (Exception e) {
+            Vibebuild.LOGGER.error("[VB] Tool '{}' failed: {}", toolName, e.getMessage(), e);
+            return result(false, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one slice of a sliced tool call and returns the number of blocks it set.
+     * The slice is the operation's region, so each slice only visits its own blocks.
+     */
+    int executeSlice(ServerPlayer player, String toolName, ToolArgs args, CuboidRegion slice) throws Exception {
+        World weWorld = FabricAdapter.adapt(player.level());
+        Actor actor = FabricAdapter.adaptPlayer(player);
+        try (EditSession es = QuotaListener.newSession(weWorld, actor)) {
+            Pattern pattern = parsePattern(weWorld, actor, args.string("pattern"));
+            return switch (toolName) {
+                case "set"         -> es.setBlocks(slice, pattern);
+                case "we_walls"    -> setPlates(es, plates(cuboid(args), false), slice, pattern);
+                case "we_faces"    -> setPlates(es, plates(cuboid(args), true), slice, pattern);
+                case "we_generate" -> generate(es, slice, pattern, args);
+                case "we_sphere"   -> new ClippedShape(slice, ellipsoid(args)).generate(es, pattern, args.bool("hollow"));
+                default            -> throw new IllegalStateException(toolName + " cannot be sliced");
+            };
+        }
+    }
+
+    /** How a sliced tool's summed count is worded, e.g. "51234 blocks set". */
+    static String sliceUnit(String toolName) {
+        return SLICED_TOOLS.getOrDefault(toolName, "blocks set");
+    }
+
+    /**
+     * Copies the session's exact dirty box (recorded from the blocks each EditSession
+     * actually changed) into buildMin/buildMax for clipboard and ghost capture.
+     */
+    public void updateBounds(BuildSession session) {
+        if (session.dirty.isEmpty()) return;
+        session.buildMin = session.dirty.getMin();
+        session.buildMax = session.dirty.getMax();
+    }
+
+    // ── Slicing ──
+
+    /**
+     * Tools that can run one slice at a time, with the wording of their result.
+     * Each slice is handed to WorldEdit as the operation's region, so the slice
+     * only visits its own positions; spheres test each of them against the whole
+     * ellipsoid ({@link ClippedShape}). Fills run as a {@link FillJob} instead.
+     * Cylinders are not split yet.
+     */
+    private static final Map<String, String> SLICED_TOOLS = Map.of(
+            "set",         "blocks set",
+            "we_walls",    "wall blocks set",
+            "we_faces",    "face blocks set",
+            "we_generate", "generated blocks set",
+            "we_sphere",   "sphere blocks set");
+
+    /**
+     * Returns a job that applies a large call over several steps, or null if the
+     * call should run in one go.
+     */
+    private IncrementalExecutor.Job splitJob(ServerPlayer player, BuildSession session, String name, ToolArgs a,
+                                             Consumer<JsonObject> onComplete) {
         try {
-            BlockPos p1 = pos(args, "pos1");
-            BlockPos p2 = pos(args, "pos2");
-            if (p1 != null && p2 != null) expandBounds(session, p1, p2);
-
-            BlockPos center = pos(args, "center");
-            if (center != null) {
-                int r = args.has("radiusNS") ? args.get("radiusNS").getAsInt() : 0;
-                int h = args.has("height")   ? args.get("height").getAsInt()   : 1;
-                expandBounds(session, center.offset(-r, 0, -r), center.offset(r, h, r));
+            if (name.equals("we_fill")) {
+                int minY = player != null ? player.level().getMinY() : Integer.MIN_VALUE / 2;
+                return FillJob.volume(a, minY) > Math.max(1, VbConfig.SLICE_VOLUME)
+                        ? new FillJob(this, session, a, minY, onComplete) : null;
+            }
+            List<CuboidRegion> slices = planSlices(name, a);
+            return slices != null ? new ToolJob(this, session, name, a, slices, onComplete) : null;
+        } catch (Exception ignored) {
+            // Malformed args — let the normal path report the error
+            return null;
+        }
+    }
+
+    /**
+     * Returns the slices to apply a tool call in, or null if it should run in one go.
+     * Slices are ordered bottom-up.
+     */
+    private List<CuboidRegion> planSlices(String name, ToolArgs a) {
+        if (!SLICED_TOOLS.containsKey(name)) return null;
+        CuboidRegion region = name.equals("we_sphere") ? boundingBox(ellipsoid(a)) : cuboid(a);
+        BlockVector3 min = region.getMinimumPoint();
+        BlockVector3 max = region.getMaximumPoint();
+
+        long sizeX = max.x() - min.x() + 1L;
+        long sizeY = max.y() - min.y() + 1L;
+        long sizeZ = max.z() - min.z() + 1L;
+        long sliceVolume = Math.max(1, VbConfig.SLICE_VOLUME);
+        if (sizeX * sizeY * sizeZ <= sliceVolume) return null;
+
+        // Y bands first; if even a single layer is too big, cut it into X strips
+        long layer = sizeX * sizeZ;
+        int bandHeight = (int) Math.max(1, sliceVolume / layer);
+        int stripWidth = layer > sliceVolume ? (int) Math.max(1, sliceVolume / sizeZ) : (int) sizeX;
+
+        List<CuboidRegion> slices = new ArrayList<>();
+        for (int y = min.y(); y <= max.y(); y += bandHeight) {
+            int yTop = Math.min(max.y(), y + bandHeight - 1);
+            for (int x = min.x(); x <= max.x(); x += stripWidth) {
+                int xTop = Math.min(max.x(), x + stripWidth - 1);
+                slices.add(new CuboidRegion(
+                        BlockVector3.at(x, y, min.z()),
+                        BlockVector3.at(xTop, yTop, max.z())));
+            }
+        }
+        return slices;
+    }
+
+    /**
+     * The blocks of a cuboid's walls (and, with {@code faces}, its floor and
+     * ceiling) as disjoint cuboids: the X sides span the full Z range, the Z sides
+     * leave out the corners, and the floor and ceiling leave out the walls.
+     */
+    private static List<CuboidRegion> plates(CuboidRegion region, boolean faces) {
+        BlockVector3 min = region.getMinimumPoint();
+        BlockVector3 max = region.getMaximumPoint();
+        List<CuboidRegion> plates = new ArrayList<>();
+        plates.add(new CuboidRegion(min, BlockVector3.at(min.x(), max.y(), max.z())));
+        if (max.x() > min.x()) {
+            plates.add(new CuboidRegion(BlockVector3.at(max.x(), min.y(), min.z()), max));
+        }
+        if (max.x() - min.x() >= 2) {
+            int x1 = min.x() + 1, x2 = max.x() - 1;
+            plates.add(new CuboidRegion(BlockVector3.at(x1, min.y(), min.z()), BlockVector3.at(x2, max.y(), min.z())));
+            if (max.z() > min.z()) {
+                plates.add(new CuboidRegion(BlockVector3.at(x1, min.y(), max.z()), BlockVector3.at(x2, max.y(), max.z())));
+            }
+            if (faces && max.z() - min.z() >= 2) {
+                int z1 = min.z() + 1, z2 = max.z() - 1;
+                plates.add(new CuboidRegion(BlockVector3.at(x1, min.y(), z1), BlockVector3.at(x2, min.y(), z2)));
+                if (max.y() > min.y()) {
+                    plates.add(new CuboidRegion(BlockVector3.at(x1, max.y(), z1), BlockVector3.at(x2, max.y(), z2)));
+                }
             }
+        }
+        return plates;
+    }
 
-            BlockPos position = pos(args, "position");
-            if (position != null) expandBounds(session, position, position);
-        } catch (Exception ignored) {}
+    /** Sets the part of each plate that lies inside the slice. */
+    private static int setPlates(EditSession es, List<CuboidRegion> plates, CuboidRegion slice, Pattern pattern)
+            throws Exception {
+        BlockVector3 sMin = slice.getMinimumPoint();
+        BlockVector3 sMax = slice.getMaximumPoint();
+        int count = 0;
+        for (CuboidRegion plate : plates) {
+            BlockVector3 lo = plate.getMinimumPoint().getMaximum(sMin);
+            BlockVector3 hi = plate.getMaximumPoint().getMinimum(sMax);
+            if (lo.x() > hi.x() || lo.y() > hi.y() || lo.z() > hi.z()) continue;
+            count += es.setBlocks(new CuboidRegion(lo, hi), pattern);
+        }
+        return count;
     }
 
     // ── Dispatcher ──
 
-    private String dispatch(EditSession es, World world, Actor actor, String name, JsonObject a) throws Exception {
+    private String dispatch(EditSession es, World world, Actor actor, String name, ToolArgs a) throws Exception {
         return switch (name) {
             case "set"             -> execSet(es, world, actor, a);
             case "we_replace"      -> execReplace(es, world, actor, a);
@@ -126,19 +349,19 @@ public class ToolExecutor {
 
     // ── Region ──
 
-    private String execSet(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
+    private String execSet(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
         int count = es.setBlocks(region, pattern);
         return count + " blocks set";
     }
 
-    private String execReplace(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
+    private String execReplace(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        Pattern to = parsePattern(world, actor, str(a, "to"));
+        Pattern to = parsePattern(world, actor, a.string("to"));
         int count;
-        if (a.has("from") && !a.get("from").isJsonNull()) {
-            Mask mask = parseMask(world, actor, es, str(a, "from"));
+        if (a.has("from")) {
+            Mask mask = parseMask(world, actor, es, a.string("from"));
             count = es.replaceBlocks(region, mask, to);
         } else {
             count = es.replaceBlocks(region, (Mask) null, to);
@@ -146,55 +369,55 @@ public class ToolExecutor {
         return count + " blocks replaced";
     }
 
-    private String execWalls(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
+    private String execWalls(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
         int count = es.makeWalls(region, pattern);
         return count + " wall blocks set";
     }
 
-    private String execFaces(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
+    private String execFaces(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
         int count = es.makeCuboidFaces(region, pattern);
         return count + " face blocks set";
     }
 
-    private String execOverlay(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
+    private String execOverlay(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
         int count = es.overlayCuboidBlocks(region, pattern);
         return count + " overlay blocks set";
     }
 
-    private String execCenter(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
+    private String execCenter(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
         int count = es.center(region, pattern);
         return count + " center blocks set";
     }
 
-    private String execNaturalize(EditSession es, World world, JsonObject a) throws Exception {
+    private String execNaturalize(EditSession es, World world, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
         int count = es.naturalizeCuboidBlocks(region);
         return count + " blocks naturalized";
     }
 
-    private String execLine(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        BlockVector3 p1 = bv3(a, "pos1");
-        BlockVector3 p2 = bv3(a, "pos2");
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
-        int thickness = a.has("thickness") ? a.get("thickness").getAsInt() : 0;
-        boolean hollow = a.has("hollow") && a.get("hollow").getAsBoolean();
+    private String execLine(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        BlockVector3 p1 = a.vec("pos1");
+        BlockVector3 p2 = a.vec("pos2");
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
+        int thickness = a.integer("thickness", 0);
+        boolean hollow = a.bool("hollow");
         int count = es.drawLine(pattern, p1, p2, thickness, !hollow);
         return count + " line blocks set";
     }
 
-    private String execCurve(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        List<BlockVector3> controlPoints = parsePoints(a, "points");
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
-        int thickness = a.has("thickness") ? a.get("thickness").getAsInt() : 0;
-        boolean hollow = a.has("hollow") && a.get("hollow").getAsBoolean();
+    private String execCurve(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        List<BlockVector3> controlPoints = a.vecs("points");
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
+        int thickness = a.integer("thickness", 0);
+        boolean hollow = a.bool("hollow");
 
         if (controlPoints.size() < 3) {
             throw new IllegalArgumentException("we_curve requires at least 3 points");
@@ -225,48 +448,49 @@ public class ToolExecutor {
         return count + " curve blocks set";
     }
 
-    private String execMove(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
+    private String execMove(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        int distance = a.get("distance").getAsInt();
-        Direction dir = parseDirection(str(a, "direction"));
+        int distance = a.integer("distance");
+        Direction dir = a.direction("direction");
         BlockVector3 dirVec = dir.toBlockVector().multiply(distance);
-        Pattern leave = a.has("leavePattern") && !a.get("leavePattern").isJsonNull()
-                ? parsePattern(world, actor, str(a, "leavePattern"))
+        Pattern leave = a.has("leavePattern")
+                ? parsePattern(world, actor, a.string("leavePattern"))
                 : parsePattern(world, actor, "air");
         int count = es.moveRegion(region, dirVec, distance, true, leave);
         return count + " blocks moved";
     }
 
-    private String execStack(EditSession es, World world, JsonObject a) throws Exception {
+    private String execStack(EditSession es, World world, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        int count = a.get("count").getAsInt();
-        Direction dir = parseDirection(str(a, "direction"));
+        int count = a.integer("count");
+        Direction dir = a.direction("direction");
         int affected = es.stackCuboidRegion(region, dir.toBlockVector(), count, true);
         return affected + " blocks stacked";
     }
 
-    private String execSmooth(EditSession es, World world, JsonObject a) throws Exception {
+    private String execSmooth(EditSession es, World world, ToolArgs a) throws Exception {
         // smoothRegion does not exist in WE 7.4.0; naturalize is the closest alternative
         CuboidRegion region = cuboid(a);
         int count = es.naturalizeCuboidBlocks(region);
         return count + " blocks smoothed (naturalized)";
     }
 
-    private String execHollow(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
+    private String execHollow(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        int thickness = a.has("thickness") ? a.get("thickness").getAsInt() : 1;
-        Pattern fill = a.has("fillPattern") && !a.get("fillPattern").isJsonNull()
-                ? parsePattern(world, actor, str(a, "fillPattern"))
+        int thickness = a.integer("thickness", 1);
+        Pattern fill = a.has("fillPattern")
+                ? parsePattern(world, actor, a.string("fillPattern"))
                 : parsePattern(world, actor, "air");
         int count = es.hollowOutRegion(region, thickness, fill);
         return count + " blocks hollowed";
     }
 
-    private String execDeform(EditSession es, World world, JsonObject a) throws Exception {
+    private String execDeform(EditSession es, World world, ToolArgs a) throws Exception {
         CuboidRegion region = cuboid(a);
-        String expression = str(a, "expression");
+        String expression = a.string("expression");
+        // Expression coordinates are raw world coordinates; keep them in plan space
         int count = es.deformRegion(region,
-                Vector3.ZERO,
+                a.shift().toVector3(),
                 Vector3.ONE,
                 expression);
         return count + " blocks deformed";
@@ -274,45 +498,45 @@ public class ToolExecutor {
 
     // ── Generation ──
 
-    private String execCyl(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        BlockVector3 center = bv3(a, "center");
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
-        double radiusNS = a.get("radiusNS").getAsDouble();
-        double radiusEW = a.has("radiusEW") ? a.get("radiusEW").getAsDouble() : radiusNS;
-        int height = a.has("height") ? a.get("height").getAsInt() : 1;
-        boolean hollow = a.has("hollow") && a.get("hollow").getAsBoolean();
+    private String execCyl(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        BlockVector3 center = a.vec("center");
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
+        double radiusNS = a.decimal("radiusNS");
+        double radiusEW = a.decimal("radiusEW", radiusNS);
+        int height = a.integer("height", 1);
+        boolean hollow = a.bool("hollow");
         int count = es.makeCylinder(center, pattern, radiusNS, radiusEW, height, !hollow);
         return count + " cylinder blocks set";
     }
 
-    private String execSphere(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        BlockVector3 center = bv3(a, "center");
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
-        double radiusNS = a.get("radiusNS").getAsDouble();
-        double radiusUD = a.has("radiusUD") ? a.get("radiusUD").getAsDouble() : radiusNS;
-        double radiusEW = a.has("radiusEW") ? a.get("radiusEW").getAsDouble() : radiusNS;
-        boolean hollow = a.has("hollow") && a.get("hollow").getAsBoolean();
+    private String execSphere(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        BlockVector3 center = a.vec("center");
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
+        double radiusNS = a.decimal("radiusNS");
+        double radiusUD = a.decimal("radiusUD", radiusNS);
+        double radiusEW = a.decimal("radiusEW", radiusNS);
+        boolean hollow = a.bool("hollow");
         int count = es.makeSphere(center, pattern, radiusNS, radiusUD, radiusEW, !hollow);
         return count + " sphere blocks set";
     }
 
-    private String execPyramid(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        BlockVector3 center = bv3(a, "center");
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
-        int size = a.get("size").getAsInt();
-        boolean hollow = a.has("hollow") && a.get("hollow").getAsBoolean();
+    private String execPyramid(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        BlockVector3 center = a.vec("center");
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
+        int size = a.integer("size");
+        boolean hollow = a.bool("hollow");
         int count = es.makePyramid(center, pattern, size, !hollow);
         return count + " pyramid blocks set";
     }
 
-    private String execCone(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        BlockVector3 center = bv3(a, "center");
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
-        double baseRadiusNS = a.get("radiusNS").getAsDouble();
-        double baseRadiusEW = a.has("radiusEW") ? a.get("radiusEW").getAsDouble() : baseRadiusNS;
-        int height = a.has("height") ? a.get("height").getAsInt() : (int) Math.max(1, Math.ceil(baseRadiusNS));
-        boolean hollow = a.has("hollow") && a.get("hollow").getAsBoolean();
-        int thickness = a.has("thickness") ? a.get("thickness").getAsInt() : 1;
+    private String execCone(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        BlockVector3 center = a.vec("center");
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
+        double baseRadiusNS = a.decimal("radiusNS");
+        double baseRadiusEW = a.decimal("radiusEW", baseRadiusNS);
+        int height = a.integer("height", (int) Math.max(1, Math.ceil(baseRadiusNS)));
+        boolean hollow = a.bool("hollow");
+        int thickness = a.integer("thickness", 1);
         if (thickness < 1) thickness = 1;
 
         int count = 0;
@@ -340,54 +564,61 @@ public class ToolExecutor {
         return count + " cone blocks set";
     }
 
-    private String execGenerate(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        CuboidRegion region = cuboid(a);
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
-        String expression = str(a, "expression");
-        boolean hollow = a.has("hollow") && a.get("hollow").getAsBoolean();
-        int count = es.makeShape(region,
-                new com.sk89q.worldedit.math.transform.AffineTransform(),
-                pattern, expression, hollow, -1);
+    private String execGenerate(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
+        int count = generate(es, cuboid(a), pattern, a);
         return count + " generated blocks set";
     }
 
+    /**
+     * Evaluates the expression over {@code region}. Coordinates are raw (shifted
+     * back to plan space) rather than normalised to the region, and hollow tests
+     * the shape itself, so any part of the full cuboid gives the same blocks.
+     */
+    private int generate(EditSession es, CuboidRegion region, Pattern pattern, ToolArgs a) throws Exception {
+        BlockVector3 shift = a.shift();
+        return es.makeShape(region,
+                new com.sk89q.worldedit.math.transform.AffineTransform().translate(-shift.x(), -shift.y(), -shift.z()),
+                pattern, a.string("expression"), a.bool("hollow"), -1);
+    }
+
     // ── Utility ──
 
-    private String execFill(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        BlockVector3 pos = bv3(a, "position");
-        Pattern pattern = parsePattern(world, actor, str(a, "pattern"));
-        int radius = a.get("radius").getAsInt();
-        int depth  = a.has("depth") ? a.get("depth").getAsInt() : 512;
+    private String execFill(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        BlockVector3 pos = a.vec("position");
+        Pattern pattern = parsePattern(world, actor, a.string("pattern"));
+        int radius = a.integer("radius");
+        int depth  = a.integer("depth", 512);
         int count = es.fillXZ(pos, pattern, radius, depth, false);
         return count + " fill blocks set";
     }
 
-    private String execDrain(EditSession es, World world, JsonObject a) throws Exception {
-        BlockVector3 pos = bv3(a, "position");
-        int radius = a.get("radius").getAsInt();
-        boolean removeWaterlogged = a.has("removeWaterlogged") && a.get("removeWaterlogged").getAsBoolean();
+    private String execDrain(EditSession es, World world, ToolArgs a) throws Exception {
+        BlockVector3 pos = a.vec("position");
+        int radius = a.integer("radius");
+        boolean removeWaterlogged = a.bool("removeWaterlogged");
         int count = es.drainArea(pos, radius, removeWaterlogged);
         return count + " liquid blocks removed";
     }
 
-    private String execRemoveNear(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        BlockVector3 pos = bv3(a, "position");
-        Mask mask = parseMask(world, actor, es, str(a, "mask"));
-        int radius = a.has("radius") ? a.get("radius").getAsInt() : 5;
+    private String execRemoveNear(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        BlockVector3 pos = a.vec("position");
+        Mask mask = parseMask(world, actor, es, a.string("mask"));
+        int radius = a.integer("radius", 5);
         int count = es.removeNear(pos, mask, radius);
         return count + " blocks removed";
     }
 
-    private String execReplaceNear(EditSession es, World world, Actor actor, JsonObject a) throws Exception {
-        BlockVector3 pos = bv3(a, "position");
-        int radius = a.get("radius").getAsInt();
-        Pattern to = parsePattern(world, actor, str(a, "to"));
+    private String execReplaceNear(EditSession es, World world, Actor actor, ToolArgs a) throws Exception {
+        BlockVector3 pos = a.vec("position");
+        int radius = (int) a.decimal("radius");
+        Pattern to = parsePattern(world, actor, a.string("to"));
         CuboidRegion region = new CuboidRegion(world,
                 pos.subtract(radius, radius, radius),
                 pos.add(radius, radius, radius));
         int count;
-        if (a.has("from") && !a.get("from").isJsonNull()) {
-            Mask mask = parseMask(world, actor, es, str(a, "from"));
+        if (a.has("from")) {
+            Mask mask = parseMask(world, actor, es, a.string("from"));
             count = es.replaceBlocks(region, mask, to);
         } else {
             count = es.replaceBlocks(region, (Mask) null, to);
@@ -397,12 +628,12 @@ public class ToolExecutor {
 
     // ── Sign Placement (native Minecraft API) ──
 
-    private String execPlaceSign(ServerPlayer player, JsonObject a) {
+    private String execPlaceSign(ServerPlayer player, BuildSession session, ToolArgs a) {
         ServerLevel level = (ServerLevel) player.level();
-        BlockPos signPos = pos(a, "position");
-        String signType = str(a, "signType");
-        boolean wallMounted = a.has("wallMounted") && a.get("wallMounted").getAsBoolean();
-        String facing = str(a, "facing");
+        BlockPos signPos = pos(a.vec("position"));
+        String signType = a.string("signType");
+        boolean wallMounted = a.bool("wallMounted");
+        String facing = a.string("facing");
 
         // Resolve sign block
         Block signBlock = resolveSignBlock(signType, wallMounted);
@@ -418,6 +649,7 @@ public class ToolExecutor {
 
         // Place the block
         level.setBlockAndUpdate(signPos, state);
+        session.dirty.add(signPos);
 
         // Set text on the sign block entity
         BlockEntity be = level.getBlockEntity(signPos);
@@ -425,34 +657,34 @@ public class ToolExecutor {
             // Front text
             if (a.has("frontLines")) {
                 SignText front = sign.getFrontText();
-                var lines = a.getAsJsonArray("frontLines");
+                List<String> lines = a.strings("frontLines");
                 for (int i = 0; i < Math.min(lines.size(), 4); i++) {
-                    front = front.setMessage(i, Component.literal(lines.get(i).getAsString()));
+                    front = front.setMessage(i, Component.literal(lines.get(i)));
                 }
                 // Apply color
-                if (a.has("color") && !a.get("color").isJsonNull()) {
-                    DyeColor color = parseDyeColor(str(a, "color"));
+                if (a.has("color")) {
+                    DyeColor color = parseDyeColor(a.string("color"));
                     front = front.setColor(color);
                 }
                 // Apply glow
-                if (a.has("glowing") && a.get("glowing").getAsBoolean()) {
+                if (a.bool("glowing")) {
                     front = front.setHasGlowingText(true);
                 }
                 sign.setText(front, true);
             }
 
             // Back text
-            if (a.has("backLines") && !a.get("backLines").isJsonNull()) {
+            if (a.has("backLines")) {
                 SignText back = sign.getBackText();
-                var lines = a.getAsJsonArray("backLines");
+                List<String> lines = a.strings("backLines");
                 for (int i = 0; i < Math.min(lines.size(), 4); i++) {
-                    back = back.setMessage(i, Component.literal(lines.get(i).getAsString()));
+                    back = back.setMessage(i, Component.literal(lines.get(i)));
                 }
-                if (a.has("color") && !a.get("color").isJsonNull()) {
-                    DyeColor color = parseDyeColor(str(a, "color"));
+                if (a.has("color")) {
+                    DyeColor color = parseDyeColor(a.string("color"));
                     back = back.setColor(color);
                 }
-                if (a.has("glowing") && a.get("glowing").getAsBoolean()) {
+                if (a.bool("glowing")) {
                     back = back.setHasGlowingText(true);
                 }
                 sign.setText(back, false);
@@ -524,29 +756,19 @@ public class ToolExecutor {
 
     // ── Helpers ──
 
-    private CuboidRegion cuboid(JsonObject a) {
-        return new CuboidRegion(bv3(a, "pos1"), bv3(a, "pos2"));
+    private CuboidRegion cuboid(ToolArgs a) {
+        return new CuboidRegion(a.vec("pos1"), a.vec("pos2"));
     }
 
-    private BlockVector3 bv3(JsonObject a, String key) {
-        JsonObject v = a.getAsJsonObject(key);
-        return BlockVector3.at(
-                v.get("x").getAsInt(),
-                v.get("y").getAsInt(),
-                v.get("z").getAsInt());
+    /** The solid ellipsoid a we_sphere call fills, radii ordered as makeSphere takes them. */
+    private static EllipsoidRegion ellipsoid(ToolArgs a) {
+        double radiusNS = a.decimal("radiusNS");
+        return new EllipsoidRegion(a.vec("center"),
+                Vector3.at(radiusNS, a.decimal("radiusUD", radiusNS), a.decimal("radiusEW", radiusNS)));
     }
 
-    private List<BlockVector3> parsePoints(JsonObject a, String key) {
-        JsonArray arr = a.getAsJsonArray(key);
-        List<BlockVector3> points = new ArrayList<>();
-        for (JsonElement e : arr) {
-            JsonObject p = e.getAsJsonObject();
-            points.add(BlockVector3.at(
-                    p.get("x").getAsInt(),
-                    p.get("y").getAsInt(),
-                    p.get("z").getAsInt()));
-        }
-        return points;
+    private static CuboidRegion boundingBox(EllipsoidRegion region) {
+        return new CuboidRegion(region.getMinimumPoint(), region.getMaximumPoint());
     }
 
     private BlockVector3 catmullRom(BlockVector3 p0, BlockVector3 p1, BlockVector3 p2, BlockVector3 p3, double t) {
@@ -569,65 +791,19 @@ public class ToolExecutor {
         return BlockVector3.at(Math.round(x), Math.round(y), Math.round(z));
     }
 
-    private BlockPos pos(JsonObject a, String key) {
-        if (!a.has(key) || a.get(key).isJsonNull()) return null;
-        JsonObject v = a.getAsJsonObject(key);
-        return new BlockPos(v.get("x").getAsInt(), v.get("y").getAsInt(), v.get("z").getAsInt());
-    }
-
-    private String str(JsonObject a, String key) {
-        return a.has(key) ? a.get(key).getAsString() : "";
+    private BlockPos pos(BlockVector3 v) {
+        return new BlockPos(v.x(), v.y(), v.z());
     }
 
     private Pattern parsePattern(World world, Actor actor, String raw) throws Exception {
-        com.sk89q.worldedit.extension.input.ParserContext ctx =
-                new com.sk89q.worldedit.extension.input.ParserContext();
-        ctx.setWorld(world);
-        ctx.setActor(actor);
-        return WorldEdit.getInstance().getPatternFactory().parseFromInput(raw, ctx);
+        return parseCache.pattern(world, actor, raw);
     }
 
     private Mask parseMask(World world, Actor actor, EditSession es, String raw) throws Exception {
-        com.sk89q.worldedit.extension.input.ParserContext ctx =
-                new com.sk89q.worldedit.extension.input.ParserContext();
-        ctx.setWorld(world);
-        ctx.setActor(actor);
-        ctx.setExtent(es);
-        return WorldEdit.getInstance().getMaskFactory().parseFromInput(raw, ctx);
-    }
-
-    private Direction parseDirection(String s) {
-        return switch (s.toLowerCase()) {
-            case "north" -> Direction.NORTH;
-            case "south" -> Direction.SOUTH;
-            case "east"  -> Direction.EAST;
-            case "west"  -> Direction.WEST;
-            case "up"    -> Direction.UP;
-            case "down"  -> Direction.DOWN;
-            default      -> Direction.NORTH;
-        };
-    }
-
-    private void expandBounds(BuildSession session, BlockPos a, BlockPos b) {
-        int minX = Math.min(a.getX(), b.getX()), maxX = Math.max(a.getX(), b.getX());
-        int minY = Math.min(a.getY(), b.getY()), maxY = Math.max(a.getY(), b.getY());
-        int minZ = Math.min(a.getZ(), b.getZ()), maxZ = Math.max(a.getZ(), b.getZ());
-        if (session.buildMin == null) {
-            session.buildMin = new BlockPos(minX, minY, minZ);
-            session.buildMax = new BlockPos(maxX, maxY, maxZ);
-        } else {
-            session.buildMin = new BlockPos(
-                    Math.min(session.buildMin.getX(), minX),
-                    Math.min(session.buildMin.getY(), minY),
-                    Math.min(session.buildMin.getZ(), minZ));
-            session.buildMax = new BlockPos(
-                    Math.max(session.buildMax.getX(), maxX),
-                    Math.max(session.buildMax.getY(), maxY),
-                    Math.max(session.buildMax.getZ(), maxZ));
-        }
+        return parseCache.mask(world, actor, es, raw);
     }
 
-    private JsonObject result(boolean success, String message) {
+    static JsonObject result(boolean success, String message) {
         JsonObject o = new JsonObject();
         o.addProperty("success", success);
         o.addProperty("message", message != null ? message : "");
@@ -0,0 +1,83 @@
+package com.vibebuild.executor;
+
+import com.google.gson.JsonObject;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.session.BuildSession;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A single tool call on the {@link IncrementalExecutor}.
+ *
+ * Small calls run in one step. Large region edits carry a list of slices and
+ * apply one slice per step; the result is only reported after the last slice.
+ */
+class ToolJob implements IncrementalExecutor.Job {
+
+    private final ToolExecutor executor;
+    private final BuildSession session;
+    private final String toolName;
+    private final ToolArgs args;
+    private final List<CuboidRegion> slices;   // null = run in one go
+    private final Consumer<JsonObject> onComplete;
+
+    private int nextSlice = 0;
+    private int totalCount = 0;
+
+    ToolJob(ToolExecutor executor, BuildSession session, String toolName, ToolArgs args,
+            List<CuboidRegion> slices, Consumer<JsonObject> onComplete) {
+        this.executor   = executor;
+        this.session    = session;
+        this.toolName   = toolName;
+        this.args       = args;
+        this.slices     = slices;
+        this.onComplete = onComplete;
+    }
+
+    @Override
+    public String owner() {
+        return session.playerName;
+    }
+
+    @Override
+    public boolean writesPlot() {
+        return true;
+    }
+
+    @Override
+    public boolean step() {
+        ServerPlayer player = Vibebuild.getInstance().getServer().getPlayerList().getPlayerByName(session.playerName);
+
+        if (slices == null) {
+            onComplete.accept(executor.execute(player, session, toolName, args));
+            return true;
+        }
+
+        if (player == null) {
+            onComplete.accept(ToolExecutor.result(false, "Player left before " + toolName + " finished"));
+            return true;
+        }
+
+        CuboidRegion slice = slices.get(nextSlice);
+        try {
+            totalCount += executor.executeSlice(player, toolName, args, slice);
+        } catch (Exception e) {
+            Vibebuild.LOGGER.error("[VB] Tool '{}' failed on slice {}/{}: {}",
+                    toolName, nextSlice + 1, slices.size(), e.getMessage(), e);
+            onComplete.accept(ToolExecutor.result(false, String.format(
+                    "%s failed on slice %d/%d after %d blocks: %s",
+                    toolName, nextSlice + 1, slices.size(), totalCount, e.getMessage())));
+            return true;
+        }
+
+        nextSlice++;
+        if (nextSlice < slices.size()) return false;
+
+        onComplete.accept(ToolExecutor.result(true, totalCount + " " + ToolExecutor.sliceUnit(toolName)
+                + " (" + slices.size() + " slices)"));
+        return true;
+    }
+}
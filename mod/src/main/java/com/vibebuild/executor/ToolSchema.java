@@ -0,0 +1,284 @@
+package com.vibebuild.executor;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.util.Direction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Argument layout of each tool, mirroring the server's tool definitions.
+ *
+ * {@link #read} pulls a call's {@code args} object straight off a streaming
+ * {@link JsonReader} into {@link ToolArgs}, checking types, ranges and enum
+ * values on the way. Unknown fields are skipped; JSON null counts as absent.
+ * Anything else that does not fit is an {@link IllegalArgumentException}
+ * naming the field, so a malformed call is rejected before it is queued.
+ */
+public final class ToolSchema {
+
+    enum Kind { VEC3, VEC3_LIST, INT, NUMBER, BOOL, STRING, PATTERN, MASK, DIRECTION, ENUM, STRING_LIST }
+
+    /** @param min lower bound for numbers, or minimum size for lists */
+    record Field(String name, Kind kind, boolean required, double min, Set<String> values) {}
+
+    private static final Map<String, ToolSchema> TOOLS = new HashMap<>();
+
+    private static final Set<String> SIGN_TYPES = Set.of(
+            "oak", "spruce", "birch", "jungle", "acacia", "dark_oak",
+            "cherry", "mangrove", "bamboo", "crimson", "warped");
+    private static final Set<String> HORIZONTAL = Set.of("north", "south", "east", "west");
+    private static final Set<String> DYE_COLORS = Set.of(
+            "black", "white", "red", "green", "blue", "yellow", "cyan", "light_blue",
+            "magenta", "orange", "pink", "purple", "brown", "light_gray", "gray");
+
+    static {
+        // Region
+        for (String tool : List.of("set", "we_walls", "we_faces", "we_overlay", "we_center")) {
+            define(tool, req("pos1", Kind.VEC3), req("pos2", Kind.VEC3), req("pattern", Kind.PATTERN));
+        }
+        define("we_replace", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3),
+                opt("from", Kind.MASK), req("to", Kind.PATTERN));
+        define("we_naturalize", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3));
+        define("we_line", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3), req("pattern", Kind.PATTERN),
+                opt("thickness", Kind.INT, 0), opt("hollow", Kind.BOOL));
+        define("we_curve", req("points", Kind.VEC3_LIST, 3), req("pattern", Kind.PATTERN),
+                opt("thickness", Kind.INT, 0), opt("hollow", Kind.BOOL));
+        define("we_move", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3),
+                req("distance", Kind.INT, 1), req("direction", Kind.DIRECTION),
+                opt("leavePattern", Kind.PATTERN), opt("ignoreAir", Kind.BOOL),
+                opt("shiftSelection", Kind.BOOL), opt("mask", Kind.MASK));
+        define("we_stack", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3),
+                req("count", Kind.INT, 1), req("direction", Kind.DIRECTION),
+                opt("ignoreAir", Kind.BOOL), opt("shiftSelection", Kind.BOOL), opt("mask", Kind.MASK));
+        define("we_smooth", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3),
+                opt("iterations", Kind.INT, 1), opt("mask", Kind.MASK));
+        define("we_hollow", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3),
+                opt("thickness", Kind.INT, 1), opt("fillPattern", Kind.PATTERN));
+        define("we_deform", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3), req("expression", Kind.STRING));
+
+        // Generation
+        define("we_cyl", req("center", Kind.VEC3), req("pattern", Kind.PATTERN),
+                req("radiusNS", Kind.NUMBER, 0), opt("radiusEW", Kind.NUMBER, 0),
+                opt("height", Kind.INT), opt("hollow", Kind.BOOL));
+        define("we_sphere", req("center", Kind.VEC3), req("pattern", Kind.PATTERN),
+                req("radiusNS", Kind.NUMBER, 0), opt("radiusUD", Kind.NUMBER, 0),
+                opt("radiusEW", Kind.NUMBER, 0), opt("hollow", Kind.BOOL), opt("raise", Kind.BOOL));
+        define("we_pyramid", req("center", Kind.VEC3), req("pattern", Kind.PATTERN),
+                req("size", Kind.INT, 1), opt("hollow", Kind.BOOL));
+        define("we_cone", req("center", Kind.VEC3), req("pattern", Kind.PATTERN),
+                req("radiusNS", Kind.NUMBER, 0), opt("radiusEW", Kind.NUMBER, 0),
+                opt("height", Kind.INT, 1), opt("hollow", Kind.BOOL), opt("thickness", Kind.INT, 1));
+        define("we_generate", req("pos1", Kind.VEC3), req("pos2", Kind.VEC3), req("pattern", Kind.PATTERN),
+                req("expression", Kind.STRING), opt("hollow", Kind.BOOL));
+
+        // Clipboard and history (answered with a fixed message; arguments are ignored)
+        for (String tool : List.of("we_copy", "we_cut", "we_paste", "we_rotate", "we_flip", "we_undo", "we_redo")) {
+            define(tool);
+        }
+
+        // Utility
+        define("we_fill", req("position", Kind.VEC3), req("pattern", Kind.PATTERN),
+                req("radius", Kind.INT, 1), opt("depth", Kind.INT, 1));
+        define("we_drain", req("position", Kind.VEC3), req("radius", Kind.INT, 0),
+                opt("removeWaterlogged", Kind.BOOL));
+        define("we_remove_near", req("position", Kind.VEC3), req("mask", Kind.MASK),
+                opt("radius", Kind.INT, 1));
+        define("we_replace_near", req("position", Kind.VEC3), req("radius", Kind.NUMBER, 1),
+                opt("from", Kind.MASK), req("to", Kind.PATTERN));
+
+        // Signs
+        define("place_sign", req("position", Kind.VEC3), opt("signType", SIGN_TYPES),
+                opt("wallMounted", Kind.BOOL), opt("facing", HORIZONTAL),
+                opt("frontLines", Kind.STRING_LIST), opt("backLines", Kind.STRING_LIST),
+                opt("glowing", Kind.BOOL), opt("color", DYE_COLORS));
+    }
+
+    private final String tool;
+    private final Map<String, Field> fields = new HashMap<>();
+
+    private ToolSchema(String tool, Field... fields) {
+        this.tool = tool;
+        for (Field f : fields) this.fields.put(f.name(), f);
+    }
+
+    /** Schema for a tool name, or null if the mod has no such tool. */
+    public static ToolSchema of(String tool) {
+        return TOOLS.get(tool);
+    }
+
+    // ── Decoding ──
+
+    /** Reads one {@code args} object. The reader must be positioned at its opening brace (or at null). */
+    public ToolArgs read(JsonReader in) throws IOException {
+        Map<String, Object> values = new HashMap<>();
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+        } else {
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                Field field = fields.get(name);
+                if (field == null) {
+                    in.skipValue();
+                } else if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                } else {
+                    try {
+                        values.put(name, readValue(in, field));
+                    } catch (IllegalStateException | NumberFormatException e) {
+                        throw new IllegalArgumentException(tool + ": '" + name + "' must be " + describe(field.kind()));
+                    }
+                }
+            }
+            in.endObject();
+        }
+
+        for (Field field : fields.values()) {
+            if (field.required() && !values.containsKey(field.name())) {
+                throw new IllegalArgumentException(tool + ": missing required argument '" + field.name() + "'");
+            }
+        }
+        return new ToolArgs(values);
+    }
+
+    private Object readValue(JsonReader in, Field field) throws IOException {
+        return switch (field.kind()) {
+            case VEC3 -> readVec(in);
+            case VEC3_LIST -> {
+                List<BlockVector3> list = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) list.add(readVec(in));
+                in.endArray();
+                if (list.size() < field.min()) {
+                    throw new IllegalArgumentException(tool + ": '" + field.name() + "' needs at least " + (int) field.min() + " points");
+                }
+                yield List.copyOf(list);
+            }
+            case INT -> {
+                double v = readFinite(in);
+                if (v != Math.rint(v) || Math.abs(v) > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException(tool + ": '" + field.name() + "' must be a whole number");
+                }
+                checkMin(field, v);
+                yield (int) v;
+            }
+            case NUMBER -> {
+                double v = readFinite(in);
+                checkMin(field, v);
+                yield v;
+            }
+            case BOOL -> in.nextBoolean();
+            case STRING -> in.nextString();
+            case PATTERN, MASK -> {
+                String s = in.nextString().trim();
+                if (s.isEmpty()) throw new IllegalArgumentException(tool + ": '" + field.name() + "' must not be empty");
+                yield s;
+            }
+            case DIRECTION -> direction(field, in.nextString());
+            case ENUM -> {
+                String s = in.nextString().trim().toLowerCase(Locale.ROOT);
+                if (!field.values().contains(s)) {
+                    throw new IllegalArgumentException(tool + ": '" + field.name() + "' must be one of " + field.values());
+                }
+                yield s;
+            }
+            case STRING_LIST -> {
+                List<String> list = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) list.add(in.nextString());
+                in.endArray();
+                yield List.copyOf(list);
+            }
+        };
+    }
+
+    /** Coordinates accept any finite number and truncate it, as the tool schemas allow fractions. */
+    private BlockVector3 readVec(JsonReader in) throws IOException {
+        double x = Double.NaN, y = Double.NaN, z = Double.NaN;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "x" -> x = readFinite(in);
+                case "y" -> y = readFinite(in);
+                case "z" -> z = readFinite(in);
+                default  -> in.skipValue();
+            }
+        }
+        in.endObject();
+        if (Double.isNaN(x) || Double.isNaN(y) || Double.isNaN(z)) {
+            throw new IllegalArgumentException(tool + ": vector needs x, y and z");
+        }
+        return BlockVector3.at((int) x, (int) y, (int) z);
+    }
+
+    private double readFinite(JsonReader in) throws IOException {
+        double v = in.nextDouble();
+        if (!Double.isFinite(v)) throw new NumberFormatException("not finite");
+        return v;
+    }
+
+    private void checkMin(Field field, double v) {
+        if (v < field.min()) {
+            String min = field.min() == Math.rint(field.min()) ? String.valueOf((long) field.min()) : String.valueOf(field.min());
+            throw new IllegalArgumentException(tool + ": '" + field.name() + "' must be at least " + min);
+        }
+    }
+
+    private Direction direction(Field field, String s) {
+        return switch (s.trim().toLowerCase(Locale.ROOT)) {
+            case "north" -> Direction.NORTH;
+            case "south" -> Direction.SOUTH;
+            case "east"  -> Direction.EAST;
+            case "west"  -> Direction.WEST;
+            case "up"    -> Direction.UP;
+            case "down"  -> Direction.DOWN;
+            default      -> throw new IllegalArgumentException(tool + ": '" + field.name() + "' must be north, south, east, west, up or down");
+        };
+    }
+
+    private static String describe(Kind kind) {
+        return switch (kind) {
+            case VEC3        -> "an {x, y, z} object";
+            case VEC3_LIST   -> "a list of {x, y, z} objects";
+            case INT         -> "a whole number";
+            case NUMBER      -> "a number";
+            case BOOL        -> "true or false";
+            case STRING_LIST -> "a list of strings";
+            default          -> "a string";
+        };
+    }
+
+    // ── Definition helpers ──
+
+    private static void define(String tool, Field... fields) {
+        TOOLS.put(tool, new ToolSchema(tool, fields));
+    }
+
+    private static Field req(String name, Kind kind) {
+        return new Field(name, kind, true, Double.NEGATIVE_INFINITY, Set.of());
+    }
+
+    private static Field req(String name, Kind kind, double min) {
+        return new Field(name, kind, true, min, Set.of());
+    }
+
+    private static Field opt(String name, Kind kind) {
+        return new Field(name, kind, false, Double.NEGATIVE_INFINITY, Set.of());
+    }
+
+    private static Field opt(String name, Kind kind, double min) {
+        return new Field(name, kind, false, min, Set.of());
+    }
+
+    private static Field opt(String name, Set<String> values) {
+        return new Field(name, Kind.ENUM, false, Double.NEGATIVE_INFINITY, values);
+    }
+}
@@ -0,0 +1,27 @@
+package com.vibebuild.mixin;
+
+import com.vibebuild.dimension.BuildSimulation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityTicker;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.state.BlockBehaviour;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Gives block entities in the build dimension no ticker under the lightweight
+ * profile (see {@link BuildSimulation}), so the level never registers one.
+ * Skipping the level's ticker loop instead would leave removed tickers piling up.
+ */
+@Mixin(BlockBehaviour.BlockStateBase.class)
+public abstract class BlockStateTickerMixin {
+
+	@Inject(method = "getTicker", at = @At("HEAD"), cancellable = true)
+	private <T extends BlockEntity> void vibebuild$noTicker(Level level, BlockEntityType<T> type,
+			CallbackInfoReturnable<BlockEntityTicker<T>> cir) {
+		if (BuildSimulation.isLightweight(level)) cir.setReturnValue(null);
+	}
+}
@@ -0,0 +1,33 @@
+package com.vibebuild.mixin;
+
+import com.vibebuild.Vibebuild;
+import com.vibebuild.dimension.BuildDimension;
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Keeps memory-only build-dimension chunks off disk. Level saves are already
+ * skipped by {@link ServerLevelSaveMixin}; this covers the per-chunk saves on
+ * unload and at shutdown.
+ */
+@Mixin(ChunkMap.class)
+public abstract class ChunkMapSaveMixin {
+
+	@Shadow @Final ServerLevel level;
+
+	@Inject(method = "save(Lnet/minecraft/world/level/chunk/ChunkAccess;)Z", at = @At("HEAD"), cancellable = true)
+	private void vibebuild$skipEphemeralChunk(ChunkAccess chunk, CallbackInfoReturnable<Boolean> cir) {
+		Vibebuild vb = Vibebuild.getInstance();
+		BuildDimension dimension = vb != null ? vb.getBuildDimension() : null;
+		if (dimension != null && dimension.getStorage().skipsSave(level)) {
+			cir.setReturnValue(false);
+		}
+	}
+}
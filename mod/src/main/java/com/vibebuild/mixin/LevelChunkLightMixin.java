@@ -0,0 +1,32 @@
+package com.vibebuild.mixin;
+
+import com.vibebuild.dimension.BuildSimulation;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+/**
+ * Holds the light check a staged write queues in the build dimension, so the
+ * step's changes are relit together (see {@link BuildSimulation#relight}).
+ * Block changes outside a staging flush are checked straight away.
+ */
+@Mixin(LevelChunk.class)
+public abstract class LevelChunkLightMixin {
+
+	@Shadow @Final Level level;
+
+	@Redirect(method = "setBlockState", at = @At(value = "INVOKE",
+			target = "Lnet/minecraft/world/level/lighting/LevelLightEngine;checkBlock(Lnet/minecraft/core/BlockPos;)V"))
+	private void vibebuild$deferLight(LevelLightEngine engine, BlockPos pos) {
+		BuildSimulation simulation = BuildSimulation.of(level);
+		if (simulation == null || !simulation.deferLight(pos)) {
+			engine.checkBlock(pos);
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.vibebuild.mixin;
+
+import com.vibebuild.dimension.BuildSimulation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.level.NaturalSpawner;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.List;
+
+/** No natural spawning in the build dimension under the lightweight profile (see {@link BuildSimulation}). */
+@Mixin(NaturalSpawner.class)
+public abstract class NaturalSpawnerMixin {
+
+	@Inject(method = "spawnForChunk", at = @At("HEAD"), cancellable = true)
+	private static void vibebuild$skipSpawning(ServerLevel level, LevelChunk chunk, NaturalSpawner.SpawnState state,
+			List<MobCategory> categories, CallbackInfo ci) {
+		if (BuildSimulation.isLightweight(level)) ci.cancel();
+	}
+}
@@ -0,0 +1,53 @@
+package com.vibebuild.mixin;
+
+import com.vibebuild.Vibebuild;
+import com.vibebuild.dimension.BuildDimension;
+import com.vibebuild.dimension.BuildWorldStorage;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.ProgressListener;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Times saves of the build dimension, and skips them outright when it is
+ * memory-only (see {@link BuildWorldStorage}).
+ */
+@Mixin(ServerLevel.class)
+public abstract class ServerLevelSaveMixin {
+
+	@Unique
+	private long vibebuild$saveStart;
+
+	@Inject(method = "save", at = @At("HEAD"), cancellable = true)
+	private void vibebuild$beforeSave(@Nullable ProgressListener progress, boolean flush, boolean skipSave, CallbackInfo ci) {
+		BuildWorldStorage storage = vibebuild$storage();
+		if (storage == null) return;
+		if (storage.skipsSave((ServerLevel) (Object) this)) {
+			storage.onSaveSkipped();
+			ci.cancel();
+			return;
+		}
+		vibebuild$saveStart = System.nanoTime();
+	}
+
+	@Inject(method = "save", at = @At("RETURN"))
+	private void vibebuild$afterSave(@Nullable ProgressListener progress, boolean flush, boolean skipSave, CallbackInfo ci) {
+		BuildWorldStorage storage = vibebuild$storage();
+		if (storage == null || vibebuild$saveStart == 0) return;
+		storage.onSaved(System.nanoTime() - vibebuild$saveStart);
+		vibebuild$saveStart = 0;
+	}
+
+	/** The build dimension's storage if this level is the build dimension, else null. */
+	@Unique
+	private BuildWorldStorage vibebuild$storage() {
+		if (((ServerLevel) (Object) this).dimension() != BuildDimension.DIMENSION_KEY) return null;
+		Vibebuild vb = Vibebuild.getInstance();
+		BuildDimension dimension = vb != null ? vb.getBuildDimension() : null;
+		return dimension != null ? dimension.getStorage() : null;
+	}
+}
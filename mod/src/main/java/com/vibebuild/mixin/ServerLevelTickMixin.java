@@ -0,0 +1,36 @@
+package com.vibebuild.mixin;
+
+import com.vibebuild.dimension.BuildSimulation;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.material.Fluid;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Skips random ticks, weather and scheduled block/fluid ticks in the build
+ * dimension under the lightweight profile (see {@link BuildSimulation}).
+ * Scheduled ticks that come due are consumed without running.
+ */
+@Mixin(ServerLevel.class)
+public abstract class ServerLevelTickMixin {
+
+	@Inject(method = "tickChunk", at = @At("HEAD"), cancellable = true)
+	private void vibebuild$skipChunkTick(LevelChunk chunk, int randomTickSpeed, CallbackInfo ci) {
+		if (BuildSimulation.isLightweight((ServerLevel) (Object) this)) ci.cancel();
+	}
+
+	@Inject(method = "tickBlock", at = @At("HEAD"), cancellable = true)
+	private void vibebuild$skipBlockTick(BlockPos pos, Block block, CallbackInfo ci) {
+		if (BuildSimulation.isLightweight((ServerLevel) (Object) this)) ci.cancel();
+	}
+
+	@Inject(method = "tickFluid", at = @At("HEAD"), cancellable = true)
+	private void vibebuild$skipFluidTick(BlockPos pos, Fluid fluid, CallbackInfo ci) {
+		if (BuildSimulation.isLightweight((ServerLevel) (Object) this)) ci.cancel();
+	}
+}
@@ -0,0 +1,167 @@
+package com.vibebuild.network;
+
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Arrays;
+
+/**
+ * Compact, read-only block data for the ghost preview.
+ *
+ * Block states go through a local palette (slot 0 means "no block"). Positions
+ * are indices into the build box in (y, z, x) order. When the build fills a fair
+ * share of its box the palette slots sit in a dense byte[] or char[] over the
+ * whole box; otherwise they live in an open-addressing map from box index to slot.
+ * Lookups and {@link #forEach} allocate nothing.
+ */
+public final class GhostBlocks {
+
+    /** Receives one block per call from {@link #forEach}. */
+    @FunctionalInterface
+    public interface BlockVisitor {
+        void accept(int x, int y, int z, BlockState state);
+    }
+
+    private static final long EMPTY_KEY = -1L;
+
+    public final int sizeX, sizeY, sizeZ;
+
+    private final BlockState[] palette;   // palette[0] is unused
+    private final int count;
+
+    // Dense storage (one of these, or neither when sparse)
+    private final byte[] denseBytes;
+    private final char[] denseChars;
+
+    // Sparse storage: linear-probing table, keys are box indices
+    private final long[] keys;
+    private final char[] values;
+    private final int mask;
+
+    /**
+     * @param palette  block states; slot {@code i} of {@code slots} refers to {@code palette[i - 1]}
+     * @param indices  box index of each block
+     * @param slots    palette slot (1-based) of each block
+     */
+    public GhostBlocks(int sizeX, int sizeY, int sizeZ, BlockState[] palette, long[] indices, char[] slots, int count) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.count = count;
+
+        this.palette = new BlockState[palette.length + 1];
+        System.arraycopy(palette, 0, this.palette, 1, palette.length);
+
+        long volume = (long) sizeX * sizeY * sizeZ;
+        int bytesPerSlot = this.palette.length <= 256 ? 1 : 2;
+        int sparseCapacity = tableCapacity(count);
+        long denseCost  = volume * bytesPerSlot;
+        long sparseCost = sparseCapacity * 10L;
+
+        if (volume <= Integer.MAX_VALUE && denseCost <= sparseCost) {
+            if (bytesPerSlot == 1) {
+                denseBytes = new byte[(int) volume];
+                denseChars = null;
+                for (int i = 0; i < count; i++) denseBytes[(int) indices[i]] = (byte) slots[i];
+            } else {
+                denseBytes = null;
+                denseChars = new char[(int) volume];
+                for (int i = 0; i < count; i++) denseChars[(int) indices[i]] = slots[i];
+            }
+            keys   = null;
+            values = null;
+            mask   = 0;
+        } else {
+            denseBytes = null;
+            denseChars = null;
+            keys   = new long[sparseCapacity];
+            values = new char[sparseCapacity];
+            mask   = sparseCapacity - 1;
+            Arrays.fill(keys, EMPTY_KEY);
+            for (int i = 0; i < count; i++) {
+                int slot = probe(indices[i]);
+                keys[slot]   = indices[i];
+                values[slot] = slots[i];
+            }
+        }
+    }
+
+    /** Block at a box-relative position, or null if there is none (or it is outside the box). */
+    public BlockState get(int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ) return null;
+        long index = ((long) y * sizeZ + z) * sizeX + x;
+
+        int slot;
+        if (denseBytes != null)      slot = denseBytes[(int) index] & 0xFF;
+        else if (denseChars != null) slot = denseChars[(int) index];
+        else {
+            int i = probe(index);
+            slot = keys[i] == EMPTY_KEY ? 0 : values[i];
+        }
+        return slot == 0 ? null : palette[slot];
+    }
+
+    /** Visits every block. Dense storage is visited in (y, z, x) order; sparse in table order. */
+    public void forEach(BlockVisitor visitor) {
+        if (keys != null) {
+            for (int i = 0; i < keys.length; i++) {
+                long index = keys[i];
+                if (index != EMPTY_KEY) visit(visitor, index, values[i]);
+            }
+            return;
+        }
+        int volume = denseBytes != null ? denseBytes.length : denseChars.length;
+        for (int i = 0; i < volume; i++) {
+            int slot = denseBytes != null ? denseBytes[i] & 0xFF : denseChars[i];
+            if (slot != 0) visit(visitor, i, slot);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public boolean isDense() {
+        return keys == null;
+    }
+
+    /** Approximate heap used by the block data, for logging. */
+    public long getSizeBytes() {
+        long n = palette.length * 8L;
+        if (denseBytes != null) n += denseBytes.length;
+        if (denseChars != null) n += denseChars.length * 2L;
+        if (keys != null)       n += keys.length * 10L;
+        return n;
+    }
+
+    // ── Helpers ──
+
+    private void visit(BlockVisitor visitor, long index, int slot) {
+        long layer = (long) sizeX * sizeZ;
+        int y   = (int) (index / layer);
+        int rem = (int) (index % layer);
+        visitor.accept(rem % sizeX, y, rem / sizeX, palette[slot]);
+    }
+
+    /** Slot holding {@code key}, or the empty slot where it would go. */
+    private int probe(long key) {
+        int i = (int) mix(key) & mask;
+        while (keys[i] != EMPTY_KEY && keys[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /** Power of two at least twice the entry count (load factor ≤ 0.5). */
+    private static int tableCapacity(int count) {
+        int cap = 16;
+        while (cap < count * 2) cap <<= 1;
+        return cap;
+    }
+}
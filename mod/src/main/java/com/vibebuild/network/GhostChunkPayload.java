@@ -0,0 +1,37 @@
+package com.vibebuild.network;
+
+import com.vibebuild.Vibebuild;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.Identifier;
+
+/**
+ * Server→Client packet carrying one slice of the compressed ghost data announced
+ * by a {@link PreviewReadyPayload} with the same transfer id.
+ *
+ * The client concatenates slices 0..total-1 and decodes them with {@link GhostDataCodec}.
+ */
+public record GhostChunkPayload(int transferId, int index, byte[] data) implements CustomPacketPayload {
+
+    public static final CustomPacketPayload.Type<GhostChunkPayload> TYPE =
+            new CustomPacketPayload.Type<>(
+                    Identifier.fromNamespaceAndPath(Vibebuild.MOD_ID, "ghost_chunk"));
+
+    public static final StreamCodec<FriendlyByteBuf, GhostChunkPayload> CODEC =
+            StreamCodec.of(
+                    (FriendlyByteBuf buf, GhostChunkPayload p) -> {
+                        buf.writeVarInt(p.transferId());
+                        buf.writeVarInt(p.index());
+                        buf.writeByteArray(p.data());
+                    },
+                    (FriendlyByteBuf buf) -> new GhostChunkPayload(
+                            buf.readVarInt(), buf.readVarInt(), buf.readByteArray(GhostDataCodec.CHUNK_BYTES)
+                    )
+            );
+
+    @Override
+    public CustomPacketPayload.Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
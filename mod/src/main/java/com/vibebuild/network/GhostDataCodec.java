@@ -0,0 +1,198 @@
+package com.vibebuild.network;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Wire format for the ghost preview's block data, sent server→client as a
+ * sequence of {@link GhostChunkPayload}s after a {@link PreviewReadyPayload}.
+ *
+ * Uncompressed layout (all VarInt/VarLong):
+ *   version, sizeX, sizeY, sizeZ,
+ *   paletteSize, paletteSize × global block-state id,
+ *   blockCount, blockCount × (position delta, palette index)
+ *
+ * Positions are indices into the build box in (y, z, x) order, sorted and
+ * delta-coded so runs of neighbouring blocks cost a byte each. The whole
+ * buffer is deflated and then cut into payload-sized chunks.
+ */
+public final class GhostDataCodec {
+
+    private static final int VERSION = 1;
+
+    /** Compressed bytes per {@link GhostChunkPayload}. */
+    public static final int CHUNK_BYTES = 32 * 1024;
+
+    private GhostDataCodec() {}
+
+    // ── Server side ──
+
+    /**
+     * Reads the non-air blocks inside [min, max] and returns the compressed data cut
+     * into chunks. Only {@code sections} are scanned when given; otherwise the whole box.
+     */
+    public static List<byte[]> encode(ServerLevel level, BlockPos min, BlockPos max, LongSet sections) {
+        int sizeX = max.getX() - min.getX() + 1;
+        int sizeY = max.getY() - min.getY() + 1;
+        int sizeZ = max.getZ() - min.getZ() + 1;
+
+        Reference2IntOpenHashMap<BlockState> paletteIds = new Reference2IntOpenHashMap<>();
+        List<BlockState> palette = new ArrayList<>();
+        LongArrayList entries = new LongArrayList();   // (box index << 24) | palette index
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        LongIterator it = (sections == null || sections.isEmpty() ? boxSections(min, max) : sections).iterator();
+        while (it.hasNext()) {
+            long key = it.nextLong();
+            int x0 = Math.max(min.getX(), SectionPos.x(key) << 4), x1 = Math.min(max.getX(), (SectionPos.x(key) << 4) + 15);
+            int y0 = Math.max(min.getY(), SectionPos.y(key) << 4), y1 = Math.min(max.getY(), (SectionPos.y(key) << 4) + 15);
+            int z0 = Math.max(min.getZ(), SectionPos.z(key) << 4), z1 = Math.min(max.getZ(), (SectionPos.z(key) << 4) + 15);
+
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    for (int x = x0; x <= x1; x++) {
+                        BlockState state = level.getBlockState(pos.set(x, y, z));
+                        if (state.isAir()) continue;
+
+                        int id = paletteIds.getOrDefault(state, -1);
+                        if (id < 0) {
+                            id = palette.size();
+                            palette.add(state);
+                            paletteIds.put(state, id);
+                        }
+                        long index = ((long) (y - min.getY()) * sizeZ + (z - min.getZ())) * sizeX + (x - min.getX());
+                        entries.add(index << 24 | id);
+                    }
+                }
+            }
+        }
+
+        long[] sorted = entries.toLongArray();
+        Arrays.sort(sorted);
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer(16 + sorted.length * 3));
+        try {
+            buf.writeVarInt(VERSION);
+            buf.writeVarInt(sizeX);
+            buf.writeVarInt(sizeY);
+            buf.writeVarInt(sizeZ);
+            buf.writeVarInt(palette.size());
+            for (BlockState state : palette) buf.writeVarInt(Block.getId(state));
+            buf.writeVarInt(sorted.length);
+            long prev = 0;
+            for (long e : sorted) {
+                long index = e >>> 24;
+                buf.writeVarLong(index - prev);
+                buf.writeVarInt((int) (e & 0xFFFFFF));
+                prev = index;
+            }
+
+            byte[] raw = new byte[buf.readableBytes()];
+            buf.readBytes(raw);
+            return split(deflate(raw));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static LongSet boxSections(BlockPos min, BlockPos max) {
+        LongSet keys = new LongOpenHashSet();
+        for (int sx = min.getX() >> 4; sx <= max.getX() >> 4; sx++)
+            for (int sy = min.getY() >> 4; sy <= max.getY() >> 4; sy++)
+                for (int sz = min.getZ() >> 4; sz <= max.getZ() >> 4; sz++)
+                    keys.add(SectionPos.asLong(sx, sy, sz));
+        return keys;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static List<byte[]> split(byte[] data) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (int off = 0; off < data.length; off += CHUNK_BYTES) {
+            chunks.add(Arrays.copyOfRange(data, off, Math.min(data.length, off + CHUNK_BYTES)));
+        }
+        if (chunks.isEmpty()) chunks.add(new byte[0]);
+        return chunks;
+    }
+
+    // ── Client side ──
+
+    /** Inflates and decodes the concatenated chunk data. Safe to call off the main thread. */
+    public static GhostBlocks decode(byte[] compressed) throws DataFormatException {
+        byte[] raw = inflate(compressed);
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(raw));
+
+        int version = buf.readVarInt();
+        if (version != VERSION) throw new DataFormatException("Unsupported ghost data version " + version);
+
+        int sizeX = buf.readVarInt();
+        int sizeY = buf.readVarInt();
+        int sizeZ = buf.readVarInt();
+
+        BlockState[] palette = new BlockState[buf.readVarInt()];
+        if (palette.length > Character.MAX_VALUE) throw new DataFormatException("Ghost palette too large");
+        for (int i = 0; i < palette.length; i++) palette[i] = Block.stateById(buf.readVarInt());
+
+        int count = buf.readVarInt();
+        long[] indices = new long[count];
+        char[] slots   = new char[count];
+        long index = 0;
+        for (int i = 0; i < count; i++) {
+            index += buf.readVarLong();
+            indices[i] = index;
+            slots[i]   = (char) (buf.readVarInt() + 1);
+        }
+        return new GhostBlocks(sizeX, sizeY, sizeZ, palette, indices, slots, count);
+    }
+
+    private static byte[] inflate(byte[] compressed) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated ghost data");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
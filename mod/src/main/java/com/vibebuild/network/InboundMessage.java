@@ -0,0 +1,148 @@
+package com.vibebuild.network;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.vibebuild.executor.ToolArgs;
+import com.vibebuild.executor.ToolCall;
+import com.vibebuild.executor.ToolSchema;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message from the vibe-build server, decoded on the WebSocket thread.
+ *
+ * Tool calls (the body of a {@code tool_call}, or each entry of a
+ * {@code tool_batch}'s {@code calls}) come out as {@link ToolCall}s whose args
+ * were streamed straight into {@link ToolArgs} through the tool's
+ * {@link ToolSchema}. Every other field lands in {@link #fields} as plain JSON.
+ *
+ * A call that fails validation cannot be skipped mid-stream, so the frame is
+ * then decoded again from a tree, one call at a time: the bad call carries its
+ * error and the rest of the batch is unaffected.
+ */
+public record InboundMessage(String type, String playerName, JsonObject fields, List<ToolCall> calls) {
+
+    /** @throws com.google.gson.JsonParseException if the frame is not a JSON object */
+    public static InboundMessage decode(String raw) {
+        try (JsonReader in = new JsonReader(new StringReader(raw))) {
+            return stream(in);
+        } catch (Exception e) {
+            return fromTree(JsonParser.parseString(raw).getAsJsonObject());
+        }
+    }
+
+    // ── Streaming ──
+
+    private static InboundMessage stream(JsonReader in) throws IOException {
+        JsonObject fields = new JsonObject();
+        List<ToolCall> batch = null;
+        Object args = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            switch (key) {
+                case "calls" -> {
+                    batch = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) batch.add(readCall(in));
+                    in.endArray();
+                }
+                case "args" -> args = readArgs(in, fields);
+                default     -> fields.add(key, JsonParser.parseReader(in));
+            }
+        }
+        in.endObject();
+        return build(fields, batch, args);
+    }
+
+    private static ToolCall readCall(JsonReader in) throws IOException {
+        JsonObject head = new JsonObject();
+        Object args = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            if (key.equals("args")) {
+                args = readArgs(in, head);
+            } else {
+                head.add(key, JsonParser.parseReader(in));
+            }
+        }
+        in.endObject();
+        return toCall(head, args);
+    }
+
+    /**
+     * Decodes args through the tool's schema if the name has already gone past
+     * (the server sends it first); otherwise buffers them until it has.
+     */
+    private static Object readArgs(JsonReader in, JsonObject head) throws IOException {
+        ToolSchema schema = ToolSchema.of(string(head, "name"));
+        return schema != null ? schema.read(in) : JsonParser.parseReader(in);
+    }
+
+    // ── Tree fallback ──
+
+    private static InboundMessage fromTree(JsonObject root) {
+        JsonObject fields = new JsonObject();
+        List<ToolCall> batch = null;
+        for (Map.Entry<String, JsonElement> e : root.entrySet()) {
+            if (e.getKey().equals("calls") && e.getValue().isJsonArray()) {
+                batch = new ArrayList<>();
+                for (JsonElement c : e.getValue().getAsJsonArray()) {
+                    JsonObject head = c.isJsonObject() ? c.getAsJsonObject().deepCopy() : new JsonObject();
+                    JsonElement args = head.remove("args");
+                    batch.add(toCall(head, args));
+                }
+            } else if (!e.getKey().equals("args")) {
+                fields.add(e.getKey(), e.getValue());
+            }
+        }
+        return build(fields, batch, root.get("args"));
+    }
+
+    // ── Assembly ──
+
+    private static InboundMessage build(JsonObject fields, List<ToolCall> batch, Object args) {
+        String type = string(fields, "type");
+        List<ToolCall> calls = batch != null ? batch
+                : type.equals("tool_call") ? List.of(toCall(fields, args))
+                : List.of();
+        return new InboundMessage(type, string(fields, "playerName"), fields, calls);
+    }
+
+    /** @param args decoded {@link ToolArgs}, buffered JSON still to decode, or null if absent */
+    private static ToolCall toCall(JsonObject head, Object args) {
+        String id   = string(head, "toolCallId");
+        String name = string(head, "name");
+        long   seq  = head.has("seq") && head.get("seq").isJsonPrimitive() ? head.get("seq").getAsLong() : -1;
+
+        ToolSchema schema = ToolSchema.of(name);
+        if (schema == null) return new ToolCall(id, seq, name, null, "Unknown tool: " + name);
+        try {
+            ToolArgs decoded = args instanceof ToolArgs t ? t : schema.read(reader(args));
+            return new ToolCall(id, seq, name, decoded, null);
+        } catch (IllegalArgumentException e) {
+            return new ToolCall(id, seq, name, null, e.getMessage());
+        } catch (IOException | IllegalStateException e) {
+            return new ToolCall(id, seq, name, null, name + ": args must be a JSON object");
+        }
+    }
+
+    private static JsonReader reader(Object buffered) {
+        JsonElement json = buffered instanceof JsonElement e ? e : JsonNull.INSTANCE;
+        return new JsonReader(new StringReader(json.toString()));
+    }
+
+    private static String string(JsonObject obj, String key) {
+        JsonElement v = obj.get(key);
+        return v != null && v.isJsonPrimitive() ? v.getAsString() : "";
+    }
+}
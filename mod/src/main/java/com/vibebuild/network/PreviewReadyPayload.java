@@ -7,14 +7,16 @@ import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.Identifier;
 
 /**
- * Server→Client packet sent when the build is complete and the client should
- * capture the blocks from the build dimension for ghost preview.
+ * Server→Client packet sent when the build is complete, announcing the ghost
+ * preview data that follows.
  *
- * Contains the bounding box of the build (min/max corners).
+ * Contains the bounding box of the build (min/max corners) and how many
+ * {@link GhostChunkPayload}s with this transfer id carry the block data.
  */
 public record PreviewReadyPayload(
         int minX, int minY, int minZ,
-        int maxX, int maxY, int maxZ
+        int maxX, int maxY, int maxZ,
+        int transferId, int chunkCount
 ) implements CustomPacketPayload {
 
     public static final CustomPacketPayload.Type<PreviewReadyPayload> TYPE =
@@ -30,10 +32,13 @@ public record PreviewReadyPayload(
                         buf.writeInt(p.maxX());
                         buf.writeInt(p.maxY());
                         buf.writeInt(p.maxZ());
+                        buf.writeVarInt(p.transferId());
+                        buf.writeVarInt(p.chunkCount());
                     },
                     (FriendlyByteBuf buf) -> new PreviewReadyPayload(
                             buf.readInt(), buf.readInt(), buf.readInt(),
-                            buf.readInt(), buf.readInt(), buf.readInt()
+                            buf.readInt(), buf.readInt(), buf.readInt(),
+                            buf.readVarInt(), buf.readVarInt()
                     )
             );
 
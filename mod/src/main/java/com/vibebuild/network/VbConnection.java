@@ -0,0 +1,216 @@
+package com.vibebuild.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.enums.ReadyState;
+import org.java_websocket.handshake.ServerHandshake;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Minecraft server's single WebSocket to the vibe-build server, shared by
+ * every player.
+ *
+ * Each player has a {@link VbWebSocketClient} channel attached by name. Outgoing
+ * messages are tagged with {@code playerName}; incoming messages carry the same
+ * field and are routed to that player's channel. One socket means one pair of
+ * I/O threads however many players are online.
+ *
+ * The socket is opened by the first channel that attaches, so a player's first
+ * /vb command may run while it is still connecting; messages sent in that window
+ * are held and go out right after the channels register.
+ *
+ * If the socket drops while channels are attached it is reopened with
+ * exponential backoff and jitter. Messages sent in the meantime are held the
+ * same way, and each channel's register carries what the server needs to resume
+ * its session.
+ */
+public class VbConnection extends WebSocketClient {
+
+    private static final Gson GSON = new Gson();
+
+    /** Messages held while connecting; more than this and the connection is clearly not coming up. */
+    private static final int MAX_PENDING = 256;
+
+    /** First reconnect delay; doubles per failed attempt up to {@link VbConfig#RECONNECT_MAX_DELAY_MS}. */
+    private static final long RECONNECT_BASE_DELAY_MS = 500;
+
+    private static final ScheduledExecutorService RECONNECTS = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "VibeBuild Reconnect");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Map<String, VbWebSocketClient> channels = new ConcurrentHashMap<>();
+    private final List<String> pending = new ArrayList<>();
+
+    private volatile ScheduledFuture<?> reconnectTask;
+    private volatile int     reconnectAttempts = 0;
+    private volatile boolean shuttingDown      = false;
+    private volatile boolean connecting        = false;
+
+    public VbConnection(URI uri) {
+        super(uri);
+    }
+
+    // ── Channels ──
+
+    /** Routes a player's traffic through this connection, opening it if needed. */
+    public void attach(VbWebSocketClient channel) {
+        channels.put(channel.getPlayerName(), channel);
+        if (isOpen()) {
+            channel.onConnected();
+        } else if (reconnectTask == null) {
+            ensureConnecting();
+        }
+    }
+
+    /** Stops routing a player's traffic and tells the server the player left. */
+    public void detach(VbWebSocketClient channel) {
+        if (!channels.remove(channel.getPlayerName(), channel)) return;
+        if (isOpen()) {
+            JsonObject msg = new JsonObject();
+            msg.addProperty("type", "unregister");
+            sendTo(channel.getPlayerName(), msg);
+        }
+    }
+
+    /**
+     * Sends a message on behalf of one player. Held if the socket is connecting
+     * or waiting to reconnect; dropped (with a warning) otherwise.
+     */
+    public void sendTo(String playerName, JsonObject msg) {
+        msg.addProperty("playerName", playerName);
+        synchronized (pending) {
+            if (isOpen()) {
+                send(GSON.toJson(msg));
+            } else if (isReconnecting() && pending.size() < MAX_PENDING) {
+                pending.add(GSON.toJson(msg));
+            } else {
+                Vibebuild.LOGGER.warn("[VB] Dropping {} for {}: not connected", msg.get("type"), playerName);
+            }
+        }
+    }
+
+    public int getChannelCount() {
+        return channels.size();
+    }
+
+    /** True while the socket is being opened or a reconnect is scheduled. */
+    public boolean isReconnecting() {
+        return reconnectTask != null || getReadyState() == ReadyState.NOT_YET_CONNECTED;
+    }
+
+    /** Closes the socket for good; no reconnect is attempted afterwards. */
+    public void shutdown() throws InterruptedException {
+        shuttingDown = true;
+        ScheduledFuture<?> task = reconnectTask;
+        if (task != null) task.cancel(false);
+        if (getReadyState() == ReadyState.OPEN) closeBlocking();
+    }
+
+    private synchronized void ensureConnecting() {
+        if (connecting) return;   // a handshake is already under way
+        ReadyState state = getReadyState();
+        if (state == ReadyState.NOT_YET_CONNECTED) {
+            connecting = true;
+            connect();
+        } else if (state == ReadyState.CLOSED) {
+            connecting = true;
+            reconnect();
+        }
+    }
+
+    /** Schedules the next attempt: the delay doubles per failure and half of it is randomised. */
+    private void scheduleReconnect() {
+        long cap   = Math.max(RECONNECT_BASE_DELAY_MS, VbConfig.RECONNECT_MAX_DELAY_MS);
+        int  shift = Math.min(reconnectAttempts, 20);
+        long delay = Math.min(cap, RECONNECT_BASE_DELAY_MS << shift);
+        delay = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        reconnectAttempts++;
+
+        Vibebuild.LOGGER.info("[VB] Reconnecting in {} ms (attempt {})", delay, reconnectAttempts);
+        reconnectTask = RECONNECTS.schedule(() -> {
+            reconnectTask = null;
+            if (shuttingDown || channels.isEmpty()) return;
+            ensureConnecting();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // ── Lifecycle ──
+
+    @Override
+    public void onOpen(ServerHandshake handshake) {
+        Vibebuild.LOGGER.info("[VB] WebSocket connected to {} ({} players)", getURI(), channels.size());
+        reconnectAttempts = 0;
+        connecting        = false;
+        synchronized (pending) {
+            // Registers first, so the server has a session for every held message
+            channels.values().forEach(VbWebSocketClient::onConnected);
+            pending.forEach(this::send);
+            pending.clear();
+        }
+    }
+
+    @Override
+    public void onClose(int code, String reason, boolean remote) {
+        Vibebuild.LOGGER.info("[VB] WebSocket closed (code={} reason={})", code, reason);
+        connecting = false;
+        boolean retry = !shuttingDown && !channels.isEmpty();
+        // Players hear about the drop once, not about every failed attempt after it
+        boolean firstDrop = reconnectAttempts == 0;
+
+        if (retry) scheduleReconnect();
+        synchronized (pending) {
+            if (!retry && !pending.isEmpty()) {
+                Vibebuild.LOGGER.warn("[VB] Dropping {} held messages: connection closed", pending.size());
+                pending.clear();
+            }
+        }
+        if (firstDrop) {
+            channels.values().forEach(channel -> channel.onDisconnected(retry));
+        }
+    }
+
+    @Override
+    public void onError(Exception ex) {
+        Vibebuild.LOGGER.error("[VB] WebSocket error: {}", ex.getMessage());
+        if (reconnectAttempts == 0) {
+            channels.values().forEach(channel -> channel.onConnectionError(ex));
+        }
+    }
+
+    // ── Routing ──
+
+    @Override
+    public void onMessage(String raw) {
+        InboundMessage msg;
+        try {
+            msg = InboundMessage.decode(raw);
+        } catch (Exception e) {
+            Vibebuild.LOGGER.warn("[VB] Could not parse message ({} chars): {}", raw.length(), e.getMessage());
+            return;
+        }
+        // Frames can be large; log their shape, not their body
+        Vibebuild.LOGGER.debug("[VB] <- {} for {} ({} chars)", msg.type(), msg.playerName(), raw.length());
+
+        VbWebSocketClient channel = channels.get(msg.playerName());
+        if (channel == null) {
+            Vibebuild.LOGGER.warn("[VB] Message for unknown player '{}' dropped", msg.playerName());
+            return;
+        }
+        channel.onMessage(msg);
+    }
+}
@@ -1,66 +1,122 @@
 package com.vibebuild.network;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.vibebuild.ChatUtil;
+import com.vibebuild.VbConfig;
 import com.vibebuild.Vibebuild;
+import com.vibebuild.executor.ToolCall;
 import com.vibebuild.session.BuildSession;
 import net.minecraft.server.level.ServerPlayer;
-import org.java_websocket.client.WebSocketClient;
-import org.java_websocket.handshake.ServerHandshake;
 
-import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
 import java.util.function.Supplier;
 
 /**
- * One WebSocket connection per player session.
- * Runs on a background thread; all Minecraft calls are dispatched to the server thread.
+ * One player's channel on the shared {@link VbConnection}.
+ * Messages arrive on the connection's background thread; all Minecraft calls are
+ * dispatched to the server thread.
+ *
+ * The server answers a register with its session id. If the connection drops
+ * mid-build, the register sent after the reconnect asks to resume that session
+ * and names the last tool call received, so the server resends only what was
+ * lost. This channel replays its recent tool results in return; the server
+ * ignores the ones it already has.
+ *
+ * The server may have up to {@link VbConfig#TOOL_WINDOW} tool calls outstanding.
+ * Each carries a sequence number; calls are handed to the server thread strictly
+ * in that order (an early arrival waits for the gap to fill, a repeat is dropped)
+ * and each result echoes its number.
  */
-public class VbWebSocketClient extends WebSocketClient {
+public class VbWebSocketClient {
 
     private static final Gson GSON = new Gson();
 
+    /** Tool results kept for replay after a resume; the oldest are dropped beyond this. */
+    private static final int MAX_REPLAY = 64;
+
+    private final VbConnection connection;
     private final Supplier<ServerPlayer> playerSupplier;
     private final BuildSession session;
 
     /** Accumulates delta text. Displayed only when text_content_complete arrives. */
     private final StringBuilder deltaBuffer = new StringBuilder();
 
-    public VbWebSocketClient(URI uri, Supplier<ServerPlayer> playerSupplier, BuildSession session) {
-        super(uri);
+    /** Results sent during the current build, replayed in case the link dropped before they arrived. */
+    private final ArrayDeque<JsonObject> recentResults = new ArrayDeque<>();
+
+    /** Server-side session id from the last "registered"; null until the first one. */
+    private volatile String serverSessionId;
+
+    /** Last toolCallId received from the server; sent on resume so it resends only newer calls. */
+    private volatile String lastToolCallId;
+
+    /** A received tool call (or batch covering {@code count} sequence numbers) waiting for its turn. */
+    private record Ordered(int count, Runnable apply) {}
+
+    /** Calls that arrived ahead of {@link #nextSeq}, keyed by their first sequence number. Guarded by itself. */
+    private final TreeMap<Long, Ordered> reorder = new TreeMap<>();
+    private long nextSeq = 0;
+
+    public VbWebSocketClient(VbConnection connection, Supplier<ServerPlayer> playerSupplier, BuildSession session) {
+        this.connection     = connection;
         this.playerSupplier = playerSupplier;
-        this.session = session;
+        this.session        = session;
     }
 
-    // ── Lifecycle ──
+    public String getPlayerName() {
+        return session.playerName;
+    }
 
-    @Override
-    public void onOpen(ServerHandshake handshake) {
-        Vibebuild.LOGGER.info("[VB] WebSocket connected for {}", session.playerName);
+    /** Attaches this channel to the shared connection (opening the connection if needed). */
+    public void connect() {
+        connection.attach(this);
+    }
+
+    /** Detaches this channel; the shared connection stays up for other players. */
+    public void close() {
+        connection.detach(this);
+    }
+
+    public boolean isOpen() {
+        return connection.isOpen();
+    }
+
+    // ── Lifecycle (called by VbConnection) ──
+
+    void onConnected() {
+        Vibebuild.LOGGER.info("[VB] Channel open for {}", session.playerName);
+        boolean reconnect = serverSessionId != null;
         sendRegister();
         runOnServerThread(() -> {
+            if (session.phase == BuildSession.Phase.IDLE) session.phase = BuildSession.Phase.CONNECTED;
             ServerPlayer player = playerSupplier.get();
             if (player != null) {
-                player.sendSystemMessage(ChatUtil.vb("Connected to vibe-build server."));
+                player.sendSystemMessage(ChatUtil.vb(reconnect ? "Reconnected to vibe-build server." : "Connected to vibe-build server."));
             }
         });
     }
 
-    @Override
-    public void onClose(int code, String reason, boolean remote) {
-        Vibebuild.LOGGER.info("[VB] WebSocket closed for {} (code={} reason={})", session.playerName, code, reason);
+    /** @param reconnecting true if the connection will retry, in which case an in-flight build is kept */
+    void onDisconnected(boolean reconnecting) {
         runOnServerThread(() -> {
+            boolean inFlight = session.phase == BuildSession.Phase.PLANNING || session.phase == BuildSession.Phase.BUILDING;
             ServerPlayer player = playerSupplier.get();
             if (player != null) {
-                player.sendSystemMessage(ChatUtil.vb("Disconnected from vibe-build server."));
+                player.sendSystemMessage(ChatUtil.vb(reconnecting && inFlight
+                        ? "Lost connection to vibe-build server. Reconnecting, your build will resume..."
+                        : "Disconnected from vibe-build server."));
             }
-            session.phase = BuildSession.Phase.IDLE;
+            if (!reconnecting || !inFlight) session.phase = BuildSession.Phase.IDLE;
         });
     }
 
-    @Override
-    public void onError(Exception ex) {
-        Vibebuild.LOGGER.error("[VB] WebSocket error for {}: {}", session.playerName, ex.getMessage());
+    void onConnectionError(Exception ex) {
         runOnServerThread(() -> {
             ServerPlayer player = playerSupplier.get();
             if (player != null) {
@@ -71,34 +127,66 @@ public class VbWebSocketClient extends WebSocketClient {
 
     // ── Message handling ──
 
-    @Override
-    public void onMessage(String raw) {
-        Vibebuild.LOGGER.debug("[VB] <- {}", raw);
-        JsonObject msg;
-        try {
-            msg = GSON.fromJson(raw, JsonObject.class);
-        } catch (Exception e) {
-            Vibebuild.LOGGER.warn("[VB] Could not parse message: {}", raw);
-            return;
-        }
-
-        String type = msg.has("type") ? msg.get("type").getAsString() : "";
+    void onMessage(InboundMessage msg) {
+        session.touch();
+        JsonObject fields = msg.fields();
 
-        switch (type) {
+        switch (msg.type()) {
+            case "registered"            -> handleRegistered(fields);
             case "thinking"              -> handleThinking();
-            case "plan_ready"            -> handlePlanReady(msg);
-            case "step"                  -> handleStep(msg);
-            case "delta"                 -> handleDelta(msg);
-            case "text_content_complete" -> handleTextContentComplete(msg);
-            case "tool_call"             -> handleToolCall(msg);
-            case "done"                  -> handleDone(msg);
-            case "error"                 -> handleError(msg);
-            default                      -> Vibebuild.LOGGER.warn("[VB] Unknown message type: {}", type);
+            case "plan_ready"            -> handlePlanReady(fields);
+            case "step"                  -> handleStep(fields);
+            case "delta"                 -> handleDelta(fields);
+            case "text_content_complete" -> handleTextContentComplete(fields);
+            case "tool_call"             -> handleToolCall(msg.calls().get(0));
+            case "tool_batch"            -> handleToolBatch(fields, msg.calls());
+            case "done"                  -> handleDone(fields);
+            case "error"                 -> handleError(fields);
+            default                      -> Vibebuild.LOGGER.warn("[VB] Unknown message type: {}", msg.type());
         }
     }
 
     // ── Handlers ──
 
+    /** Server acknowledged a register; if it could not resume an in-flight build, end that build here. */
+    private void handleRegistered(JsonObject msg) {
+        String previous = serverSessionId;
+        serverSessionId = msg.has("sessionId") ? msg.get("sessionId").getAsString() : null;
+        boolean resumed = msg.has("resumed") && msg.get("resumed").getAsBoolean();
+
+        if (resumed) {
+            List<JsonObject> replay;
+            synchronized (recentResults) {
+                replay = new ArrayList<>(recentResults);
+            }
+            replay.forEach(this::send);
+            Vibebuild.LOGGER.info("[VB] Resumed session {} for {} ({} results replayed)",
+                    serverSessionId, session.playerName, replay.size());
+            return;
+        }
+
+        // A fresh server session numbers its calls from zero again
+        synchronized (reorder) {
+            reorder.clear();
+            nextSeq = 0;
+        }
+        if (previous == null) return;
+
+        clearReplay();
+        runOnServerThread(() -> {
+            if (session.phase != BuildSession.Phase.PLANNING && session.phase != BuildSession.Phase.BUILDING) return;
+            Vibebuild.getInstance().getBuildDimension().flushStaging(session, null);
+            session.phase = session.inVibeWorldSession ? BuildSession.Phase.REVIEWING : BuildSession.Phase.CONNECTED;
+            ServerPlayer player = playerSupplier.get();
+            if (player != null) {
+                player.sendSystemMessage(ChatUtil.vbError("The build could not be resumed after reconnecting."));
+                if (session.inVibeWorldSession) {
+                    player.sendSystemMessage(ChatUtil.vb("You can reprompt or type /vb cancel to return."));
+                }
+            }
+        });
+    }
+
     private void handleThinking() {
         runOnServerThread(() -> {
             ServerPlayer player = playerSupplier.get();
@@ -112,9 +200,13 @@ public class VbWebSocketClient extends WebSocketClient {
                 // Save player state and teleport in (world was cleaned on last session end)
                 session.inVibeWorldSession = true;
                 session.hasBeenPositioned = false;
+                session.buildOrigin = null;
                 session.buildMin = null;
                 session.buildMax = null;
+                session.dirty.clear();
                 Vibebuild.getInstance().getBuildDimension().savePlayerState(player, session);
+                // The prompt was anchored at this position; map it onto a plot of our own
+                Vibebuild.getInstance().getBuildDimension().assignPlot(session, session.originalX, session.originalZ);
                 Vibebuild.getInstance().getBuildDimension().teleportToBuildDimension(player, session);
             }
             // Reprompt during session — keep existing blocks and position
@@ -128,14 +220,21 @@ public class VbWebSocketClient extends WebSocketClient {
             ServerPlayer player = playerSupplier.get();
             if (player == null) return;
 
-            // Reposition once to face the build origin, then never again
-            if (origin != null && !session.hasBeenPositioned) {
-                int ox = origin.get("x").getAsInt();
+            if (origin != null) {
+                int ox = origin.get("x").getAsInt() + session.plotOffsetX;
                 int oy = origin.get("y").getAsInt();
-                int oz = origin.get("z").getAsInt();
-                session.buildOrigin = new net.minecraft.core.BlockPos(ox, oy, oz);
-                Vibebuild.getInstance().getBuildDimension().repositionToFaceBuild(player, session, ox, oy, oz);
-                session.hasBeenPositioned = true;
+                int oz = origin.get("z").getAsInt() + session.plotOffsetZ;
+                net.minecraft.core.BlockPos at = new net.minecraft.core.BlockPos(ox, oy, oz);
+
+                // Load and generate the build area while the executor plans step 1
+                Vibebuild.getInstance().getBuildDimension().prewarm(session, at);
+
+                // Reposition once to face the build origin, then never again
+                if (!session.hasBeenPositioned) {
+                    session.buildOrigin = at;
+                    Vibebuild.getInstance().getBuildDimension().repositionToFaceBuild(player, session, ox, oy, oz);
+                    session.hasBeenPositioned = true;
+                }
             }
 
             player.sendSystemMessage(ChatUtil.vb("Planning complete: " + stepCount + " features to build."));
@@ -156,6 +255,9 @@ public class VbWebSocketClient extends WebSocketClient {
                 session.phase = BuildSession.Phase.BUILDING;
             }
 
+            // Step boundary: land the previous step's staged writes in the world
+            Vibebuild.getInstance().getBuildDimension().flushStaging(session, null);
+
             player.sendSystemMessage(ChatUtil.vb(content));
         });
     }
@@ -256,47 +358,137 @@ public class VbWebSocketClient extends WebSocketClient {
         return out.isEmpty() ? null : out;
     }
 
-    private void handleToolCall(JsonObject msg) {
+    private void handleToolCall(ToolCall call) {
         // Flush any pending delta before tool execution
         flushDeltaBuffer();
+        lastToolCallId = call.toolCallId();
+
+        applyInOrder(call.seq(), 1, () -> runOnServerThread(() -> {
+            if (!call.isValid()) {
+                // Rejected while decoding: answer without touching the executor queue
+                JsonObject result = failure(call.error());
+                notifyFailure(call, result);
+                sendResult(toolResult(call, result));
+                return;
+            }
 
-        String toolCallId = msg.has("toolCallId") ? msg.get("toolCallId").getAsString() : "";
-        String name       = msg.has("name")       ? msg.get("name").getAsString()       : "";
-        JsonObject args   = msg.has("args")        ? msg.get("args").getAsJsonObject()   : new JsonObject();
+            // Large edits are sliced across ticks; the reply goes out once the last slice lands
+            Vibebuild.getInstance().getToolExecutor().submit(playerSupplier.get(), session, call.name(), call.args(), result -> {
+                // Refresh the exact bounding box of what has been built so far
+                Vibebuild.getInstance().getToolExecutor().updateBounds(session);
 
-        runOnServerThread(() -> {
-            ServerPlayer player = playerSupplier.get();
-            JsonObject result = Vibebuild.getInstance()
-                    .getToolExecutor()
-                    .execute(player, session, name, args);
-
-            // Track bounding box from set/fill/generation calls for schematic capture
-            Vibebuild.getInstance().getToolExecutor().updateBounds(session, name, args);
-
-            // If tool failed, notify the player
-            boolean success = result.has("success") && result.get("success").getAsBoolean();
-            if (!success && player != null) {
-                String errMsg = result.has("message") ? result.get("message").getAsString() : "unknown";
-                player.sendSystemMessage(ChatUtil.vbError("Tool " + name + " failed: " + errMsg));
+                // If tool failed, notify the player
+                notifyFailure(call, result);
+
+                Vibebuild.getInstance().getBuildDimension().flushStagingIfFull(session);
+
+                // Send result back to the server (model sees errors and can self-correct)
+                sendResult(toolResult(call, result));
+            });
+        }));
+    }
+
+    /**
+     * Runs an ordered list of tool calls, sharing an EditSession where they fit in one step
+     * (see {@link com.vibebuild.executor.ToolExecutor#submitBatch}), and replies with one result per call.
+     * Calls rejected while decoding are left out and answered with their error.
+     */
+    private void handleToolBatch(JsonObject msg, List<ToolCall> calls) {
+        flushDeltaBuffer();
+
+        String batchId = msg.has("batchId") ? msg.get("batchId").getAsString() : "";
+        if (!calls.isEmpty()) lastToolCallId = calls.get(calls.size() - 1).toolCallId();
+        List<ToolCall> valid = calls.stream().filter(ToolCall::isValid).toList();
+
+        // A batch holds consecutive sequence numbers and is applied as one unit
+        long firstSeq = calls.isEmpty() ? -1 : calls.get(0).seq();
+        applyInOrder(firstSeq, calls.size(), () -> runOnServerThread(() -> Vibebuild.getInstance().getToolExecutor().submitBatch(playerSupplier.get(), session, valid, results -> {
+            Iterator<JsonObject> ran = results.iterator();
+            JsonArray out = new JsonArray();
+            for (ToolCall call : calls) {
+                JsonObject result = call.isValid() ? ran.next() : failure(call.error());
+                notifyFailure(call, result);
+
+                JsonObject entry = new JsonObject();
+                entry.addProperty("toolCallId", call.toolCallId());
+                if (call.seq() >= 0) entry.addProperty("seq", call.seq());
+                entry.addProperty("result", GSON.toJson(result));
+                out.add(entry);
             }
 
-            // Send result back to the server (model sees errors and can self-correct)
+            // Refresh the exact bounding box once for the whole batch
+            Vibebuild.getInstance().getToolExecutor().updateBounds(session);
+            Vibebuild.getInstance().getBuildDimension().flushStagingIfFull(session);
+
+            // Per-call results so the model can correct only the calls that failed
             JsonObject reply = new JsonObject();
-            reply.addProperty("type", "tool_result");
-            reply.addProperty("toolCallId", toolCallId);
-            reply.addProperty("result", GSON.toJson(result));
-            send(GSON.toJson(reply));
-        });
+            reply.addProperty("type", "tool_batch_result");
+            reply.addProperty("batchId", batchId);
+            reply.add("results", out);
+            sendResult(reply);
+        })));
+    }
+
+    private JsonObject toolResult(ToolCall call, JsonObject result) {
+        JsonObject reply = new JsonObject();
+        reply.addProperty("type", "tool_result");
+        reply.addProperty("toolCallId", call.toolCallId());
+        if (call.seq() >= 0) reply.addProperty("seq", call.seq());
+        reply.addProperty("result", GSON.toJson(result));
+        return reply;
+    }
+
+    /** Tells the player a tool failed. Must run on the server thread. */
+    private void notifyFailure(ToolCall call, JsonObject result) {
+        ServerPlayer player = playerSupplier.get();
+        boolean success = result.has("success") && result.get("success").getAsBoolean();
+        if (!success && player != null) {
+            String errMsg = result.has("message") ? result.get("message").getAsString() : "unknown";
+            player.sendSystemMessage(ChatUtil.vbError("Tool " + call.name() + " failed: " + errMsg));
+        }
+    }
+
+    private static JsonObject failure(String message) {
+        JsonObject result = new JsonObject();
+        result.addProperty("success", false);
+        result.addProperty("message", message);
+        return result;
+    }
+
+    /**
+     * Runs {@code apply} once every call numbered below {@code seq} has been handed
+     * over, and then any queued calls it unblocks. Calls without a number
+     * ({@code seq < 0}) run immediately; numbers already applied are dropped.
+     */
+    private void applyInOrder(long seq, int count, Runnable apply) {
+        if (seq < 0) {
+            apply.run();
+            return;
+        }
+        synchronized (reorder) {
+            if (seq < nextSeq) {
+                Vibebuild.LOGGER.debug("[VB] Ignoring repeated tool call #{} for {}", seq, session.playerName);
+                return;
+            }
+            reorder.put(seq, new Ordered(count, apply));
+            while (!reorder.isEmpty() && reorder.firstKey() == nextSeq) {
+                Ordered next = reorder.pollFirstEntry().getValue();
+                nextSeq += Math.max(1, next.count());
+                next.apply().run();
+            }
+        }
     }
 
     private void handleDone(JsonObject msg) {
         // Flush remaining delta text
         flushDeltaBuffer();
+        clearReplay();
 
         int toolCount      = msg.has("toolCount")      ? msg.get("toolCount").getAsInt()      : 0;
         int completedSteps = msg.has("completedSteps") ? msg.get("completedSteps").getAsInt() : 0;
 
-        runOnServerThread(() -> {
+        // Staged writes must be in the world before the clipboard copy reads it
+        runOnServerThread(() -> Vibebuild.getInstance().getBuildDimension().flushStaging(session, () -> {
             ServerPlayer player = playerSupplier.get();
             if (player == null) return;
 
@@ -324,15 +516,19 @@ public class VbWebSocketClient extends WebSocketClient {
             } else {
                 player.sendSystemMessage(ChatUtil.vbError("Could not save schematic. Use /vb cancel to return."));
             }
-        });
+        }));
     }
 
     private void handleError(JsonObject msg) {
         // Flush remaining delta text
         flushDeltaBuffer();
+        clearReplay();
 
         String content = msg.has("content") ? msg.get("content").getAsString() : "unknown error";
         runOnServerThread(() -> {
+            // Keep whatever was built so far visible for review
+            Vibebuild.getInstance().getBuildDimension().flushStaging(session, null);
+
             ServerPlayer player = playerSupplier.get();
             if (player == null) return;
             player.sendSystemMessage(ChatUtil.vbError(content));
@@ -349,37 +545,65 @@ public class VbWebSocketClient extends WebSocketClient {
 
     // ── Helpers ──
 
-    /** Dispatches work to the main server thread safely. */
+    /** Queues work for this player's turn on the server thread (see {@link com.vibebuild.session.SessionTaskScheduler}). */
     private void runOnServerThread(Runnable r) {
-        Vibebuild.getInstance().getServer().execute(r);
+        Vibebuild.getInstance().getTaskScheduler().post(session.playerName, r);
+    }
+
+    /** Sends a message tagged with this player's name over the shared connection. */
+    private void send(JsonObject msg) {
+        connection.sendTo(session.playerName, msg);
+    }
+
+    /** Sends a tool result and keeps it for replay should the link drop before it arrives. */
+    private void sendResult(JsonObject reply) {
+        synchronized (recentResults) {
+            if (recentResults.size() == MAX_REPLAY) recentResults.removeFirst();
+            recentResults.addLast(reply);
+        }
+        send(reply);
+    }
+
+    private void clearReplay() {
+        synchronized (recentResults) {
+            recentResults.clear();
+        }
     }
 
     /** Send a prompt message to the vibe-build server. */
     public void sendPrompt(String content, double x, double y, double z) {
         JsonObject msg = new JsonObject();
         msg.addProperty("type", "prompt");
-        msg.addProperty("playerName", session.playerName);
         msg.addProperty("content", content);
         JsonObject pos = new JsonObject();
         pos.addProperty("x", x);
         pos.addProperty("y", y);
         pos.addProperty("z", z);
         msg.add("playerPosition", pos);
-        send(GSON.toJson(msg));
+        send(msg);
     }
 
     /** Send a cancel message to the vibe-build server. */
     public void sendCancel() {
         JsonObject msg = new JsonObject();
         msg.addProperty("type", "cancel");
-        send(GSON.toJson(msg));
+        send(msg);
     }
 
-    /** Register this websocket with the server so HTTP tools can route by player name. */
+    /**
+     * Register this player with the server so it opens a session and HTTP tools can route by player name.
+     * After a reconnect the register also asks the server to resume the previous session.
+     */
     private void sendRegister() {
         JsonObject msg = new JsonObject();
         msg.addProperty("type", "register");
-        msg.addProperty("playerName", session.playerName);
-        send(GSON.toJson(msg));
+        msg.addProperty("window", VbConfig.TOOL_WINDOW);
+        if (serverSessionId != null) {
+            JsonObject resume = new JsonObject();
+            resume.addProperty("sessionId", serverSessionId);
+            if (lastToolCallId != null) resume.addProperty("lastToolCallId", lastToolCallId);
+            msg.add("resume", resume);
+        }
+        send(msg);
     }
 }
@@ -0,0 +1,222 @@
+package com.vibebuild.schematic;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.extension.platform.Actor;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.fabric.FabricAdapter;
+import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
+import com.sk89q.worldedit.function.operation.Operations;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.math.Vector3;
+import com.sk89q.worldedit.math.transform.Transform;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.session.ClipboardHolder;
+import com.vibebuild.ChatUtil;
+import com.vibebuild.ChunkTickets;
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.executor.IncrementalExecutor;
+import com.vibebuild.executor.QuotaListener;
+import com.vibebuild.session.BuildSession;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pastes a clipboard one 16³ source section at a time, at most
+ * {@link VbConfig#PASTE_SECTIONS_PER_TICK} sections per tick.
+ *
+ * Sections are visited column by column. Destination chunks a few columns ahead
+ * of the paste front get a loading ticket so they load asynchronously; a section
+ * waits (for a bounded time) until its chunks are resident. All sections share
+ * one EditSession, which is remembered in the player's WorldEdit history at the
+ * end (or on cancel) so //undo reverts the paste.
+ */
+public class PasteJob implements IncrementalExecutor.Job {
+
+    private static final int LOOKAHEAD_SECTIONS   = 48;
+    private static final int MAX_CHUNK_WAIT_TICKS = 100;
+
+    private final String playerName;
+    private final ServerLevel level;
+    private final Actor actor;
+    private final Clipboard clipboard;
+    private final Transform transform;
+    private final BlockVector3 to;
+    private final List<CuboidRegion> sections = new ArrayList<>();
+    private final LongOpenHashSet ticketed = new LongOpenHashSet();
+
+    private EditSession editSession;
+    private int next = 0;
+    private int preloadedUpTo = 0;
+    private int lastTick = -1;
+    private int writtenThisTick = 0;
+    private int waitStartTick = -1;
+    private int lastPercent = -1;
+
+    public PasteJob(ServerPlayer player, ClipboardHolder holder, BlockVector3 to) {
+        this.playerName = player.getName().getString();
+        this.level      = (ServerLevel) player.level();
+        this.actor      = FabricAdapter.adaptPlayer(player);
+        this.clipboard  = holder.getClipboard();
+        this.transform  = holder.getTransform();
+        this.to         = to;
+
+        // Source sections in column order (x, z outer; y inner) so the paste front moves chunk by chunk
+        BlockVector3 min = clipboard.getRegion().getMinimumPoint();
+        BlockVector3 max = clipboard.getRegion().getMaximumPoint();
+        for (int sx = min.x() >> 4; sx <= max.x() >> 4; sx++) {
+            for (int sz = min.z() >> 4; sz <= max.z() >> 4; sz++) {
+                for (int sy = min.y() >> 4; sy <= max.y() >> 4; sy++) {
+                    BlockVector3 lo = BlockVector3.at(sx << 4, sy << 4, sz << 4);
+                    sections.add(new CuboidRegion(lo.getMaximum(min), lo.add(15, 15, 15).getMinimum(max)));
+                }
+            }
+        }
+    }
+
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    @Override
+    public String owner() {
+        return playerName;
+    }
+
+    @Override
+    public boolean ready() {
+        int tick = level.getServer().getTickCount();
+        if (tick != lastTick) {
+            lastTick = tick;
+            writtenThisTick = 0;
+        }
+        if (writtenThisTick >= Math.max(1, VbConfig.PASTE_SECTIONS_PER_TICK)) return false;
+        if (next >= sections.size()) return true;
+
+        preloadAhead();
+        if (destinationLoaded(sections.get(next))) {
+            waitStartTick = -1;
+            return true;
+        }
+
+        // Don't stall forever on a chunk that won't come in; writing will load it synchronously
+        if (waitStartTick < 0) waitStartTick = tick;
+        return tick - waitStartTick >= MAX_CHUNK_WAIT_TICKS;
+    }
+
+    @Override
+    public boolean step() {
+        ServerPlayer player = level.getServer().getPlayerList().getPlayerByName(playerName);
+        if (player == null) {
+            closeSession();
+            setPhase(BuildSession.Phase.CONNECTED);
+            return true;
+        }
+
+        if (editSession == null) {
+            editSession = QuotaListener.newSession(FabricAdapter.adapt(level), actor);
+        }
+
+        try {
+            if (next < sections.size()) {
+                ForwardExtentCopy copy = new ForwardExtentCopy(
+                        clipboard, sections.get(next), clipboard.getOrigin(), editSession, to);
+                copy.setTransform(transform);
+                copy.setCopyingEntities(false);
+                Operations.complete(copy);
+                editSession.flushSession();
+                next++;
+                writtenThisTick++;
+            }
+        } catch (Exception e) {
+            Vibebuild.LOGGER.error("[VB] Paste failed for {} at section {}/{}", playerName, next + 1, sections.size(), e);
+            player.sendSystemMessage(ChatUtil.vbError("Paste failed: " + e.getMessage()));
+            closeSession();
+            setPhase(BuildSession.Phase.CONNECTED);
+            return true;
+        }
+
+        int percent = sections.isEmpty() ? 100 : (int) (100L * next / sections.size());
+        if (percent != lastPercent) {
+            lastPercent = percent;
+            player.displayClientMessage(ChatUtil.vbProgress("Placing build", percent / 100.0), true);
+        }
+
+        if (next < sections.size()) return false;
+
+        closeSession();
+        setPhase(BuildSession.Phase.CONNECTED);
+        player.sendSystemMessage(ChatUtil.vb("Build placed! Enjoy."));
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        closeSession();
+        Vibebuild.LOGGER.info("[VB] Paste for {} cancelled after {}/{} sections", playerName, next, sections.size());
+    }
+
+    // ── Helpers ──
+
+    /** Adds loading tickets for the destination chunks of the next few sections. */
+    private void preloadAhead() {
+        int limit = Math.min(sections.size(), next + LOOKAHEAD_SECTIONS);
+        for (int i = Math.max(preloadedUpTo, next); i < limit; i++) {
+            forEachDestinationChunk(sections.get(i), (cx, cz) -> {
+                if (ticketed.add(ChunkPos.asLong(cx, cz))) {
+                    ChunkTickets.preload(level, ChunkTickets.PASTE_AHEAD, cx, cz);
+                }
+                return true;
+            });
+        }
+        preloadedUpTo = Math.max(preloadedUpTo, limit);
+    }
+
+    private boolean destinationLoaded(CuboidRegion section) {
+        return forEachDestinationChunk(section, level::hasChunk);
+    }
+
+    private interface ChunkVisitor {
+        boolean visit(int chunkX, int chunkZ);
+    }
+
+    /** Visits every destination chunk a source section maps to; stops early if the visitor returns false. */
+    private boolean forEachDestinationChunk(CuboidRegion section, ChunkVisitor visitor) {
+        BlockVector3 a = destination(section.getMinimumPoint());
+        BlockVector3 b = destination(section.getMaximumPoint());
+        for (int cx = Math.min(a.x(), b.x()) >> 4; cx <= Math.max(a.x(), b.x()) >> 4; cx++) {
+            for (int cz = Math.min(a.z(), b.z()) >> 4; cz <= Math.max(a.z(), b.z()) >> 4; cz++) {
+                if (!visitor.visit(cx, cz)) return false;
+            }
+        }
+        return true;
+    }
+
+    /** Where a clipboard position lands, mirroring ForwardExtentCopy: to + T(p - origin). */
+    private BlockVector3 destination(BlockVector3 source) {
+        Vector3 rel = transform.apply(source.subtract(clipboard.getOrigin()).toVector3());
+        return to.add((int) Math.round(rel.x()), (int) Math.round(rel.y()), (int) Math.round(rel.z()));
+    }
+
+    private void closeSession() {
+        if (editSession == null) return;
+        try {
+            editSession.close();
+            WorldEdit.getInstance().getSessionManager().get(actor).remember(editSession);
+        } catch (Exception e) {
+            Vibebuild.LOGGER.error("[VB] Failed to finish paste session for {}: {}", playerName, e.getMessage(), e);
+        }
+        editSession = null;
+    }
+
+    private void setPhase(BuildSession.Phase phase) {
+        BuildSession session = Vibebuild.getInstance().getSessions().get(playerName);
+        if (session != null) session.phase = phase;
+    }
+}
@@ -3,14 +3,20 @@ package com.vibebuild.schematic;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.extension.platform.Actor;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.fabric.FabricAdapter;
+import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
+import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.session.ClipboardHolder;
 import com.sk89q.worldedit.world.World;
 import com.vibebuild.Vibebuild;
 import com.vibebuild.session.BuildSession;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerPlayer;
 
 /**
@@ -38,21 +44,35 @@ public class SchematicManager {
             BlockVector3 max = bv3(session.buildMax);
             CuboidRegion region = new CuboidRegion(weWorld, min, max);
 
-            // Copy region into a clipboard
-            com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard clipboard =
-                    new com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard(region);
+            // Copy region into a sparse clipboard (only non-empty sections are stored)
+            SparseClipboard clipboard = new SparseClipboard(region);
             clipboard.setOrigin(min);
 
+            // Only copy chunk sections that actually changed; the rest of the box is untouched air
+            LongSet dirtySections = session.dirty.getSections();
+            long copied = 0;
+
             try (EditSession es = WorldEdit.getInstance()
                     .newEditSessionBuilder()
                     .world(weWorld)
                     .build()) {
 
-                com.sk89q.worldedit.function.operation.ForwardExtentCopy copy =
-                        new com.sk89q.worldedit.function.operation.ForwardExtentCopy(
-                                es, region, clipboard, min);
-                copy.setCopyingEntities(false);
-                com.sk89q.worldedit.function.operation.Operations.complete(copy);
+                if (dirtySections.isEmpty()) {
+                    copyRegion(es, region, clipboard);
+                    copied = region.getVolume();
+                } else {
+                    LongIterator it = dirtySections.iterator();
+                    while (it.hasNext()) {
+                        long key = it.nextLong();
+                        BlockVector3 sectionMin = BlockVector3.at(
+                                SectionPos.x(key) << 4, SectionPos.y(key) << 4, SectionPos.z(key) << 4);
+                        BlockVector3 from = sectionMin.getMaximum(min);
+                        BlockVector3 to   = sectionMin.add(15, 15, 15).getMinimum(max);
+                        CuboidRegion part = new CuboidRegion(weWorld, from, to);
+                        copyRegion(es, part, clipboard);
+                        copied += part.getVolume();
+                    }
+                }
             }
 
             // Store in the player's LocalSession
@@ -61,8 +81,9 @@ public class SchematicManager {
                     .get(actor)
                     .setClipboard(new ClipboardHolder(clipboard));
 
-            Vibebuild.LOGGER.info("[VB] Clipboard set for {} ({} blocks)",
-                    session.playerName, region.getVolume());
+            Vibebuild.LOGGER.info("[VB] Clipboard set for {} ({} of {} blocks scanned, {} solid in {} sections, ~{} KB)",
+                    session.playerName, copied, region.getVolume(), clipboard.getBlockCount(),
+                    clipboard.getSectionKeys().size(), clipboard.getSizeBytes() / 1024);
             return true;
 
         } catch (Exception e) {
@@ -71,6 +92,12 @@ public class SchematicManager {
         }
     }
 
+    private void copyRegion(EditSession source, CuboidRegion region, Clipboard clipboard) throws Exception {
+        ForwardExtentCopy copy = new ForwardExtentCopy(source, region, clipboard, region.getMinimumPoint());
+        copy.setCopyingEntities(false);
+        Operations.complete(copy);
+    }
+
     private BlockVector3 bv3(BlockPos p) {
         return BlockVector3.at(p.getX(), p.getY(), p.getZ());
     }
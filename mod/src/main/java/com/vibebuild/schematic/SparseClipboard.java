@@ -0,0 +1,240 @@
+package com.vibebuild.schematic;
+
+import com.sk89q.worldedit.entity.BaseEntity;
+import com.sk89q.worldedit.entity.Entity;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.function.operation.Operation;
+import com.sk89q.worldedit.function.operation.OperationQueue;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.Region;
+import com.sk89q.worldedit.util.Location;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.biome.BiomeTypes;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockStateHolder;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.SectionPos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clipboard that only stores chunk sections containing at least one non-air block.
+ *
+ * Each stored section keeps a block palette (index 0 is always air) and a packed
+ * index array whose width grows from 1 to 16 bits as the palette grows. Every
+ * position inside the region that is not stored reads back as air, so tall or
+ * airy builds cost memory in proportion to what was built, not to their box.
+ *
+ * Biomes and entities are not kept; every biome reads as plains.
+ */
+public class SparseClipboard implements Clipboard {
+
+    private static final BaseBlock AIR = BlockTypes.AIR.getDefaultState().toBaseBlock();
+
+    /** One stored 16x16x16 section. */
+    static final class Section {
+        final List<BaseBlock> palette = new ArrayList<>();
+        final Map<BaseBlock, Integer> lookup = new HashMap<>();
+        int bits = 1;
+        long[] data = new long[4096 / 64];
+        int nonAir = 0;
+
+        Section() {
+            palette.add(AIR);
+            lookup.put(AIR, 0);
+        }
+
+        int getIndex(int i) {
+            int bit = i * bits;
+            return (int) ((data[bit >>> 6] >>> (bit & 63)) & ((1L << bits) - 1));
+        }
+
+        private void setIndex(int i, int value) {
+            int bit = i * bits;
+            long mask = ((1L << bits) - 1) << (bit & 63);
+            data[bit >>> 6] = (data[bit >>> 6] & ~mask) | ((long) value << (bit & 63));
+        }
+
+        BaseBlock get(int i) {
+            return palette.get(getIndex(i));
+        }
+
+        void set(int i, BaseBlock block, boolean air) {
+            Integer id = air ? Integer.valueOf(0) : lookup.get(block);
+            if (id == null) {
+                id = palette.size();
+                palette.add(block);
+                lookup.put(block, id);
+                if (id >= (1 << bits)) grow();
+            }
+            int old = getIndex(i);
+            if (old == 0 && id != 0) nonAir++;
+            else if (old != 0 && id == 0) nonAir--;
+            setIndex(i, id);
+        }
+
+        /** Doubles the entry width (1 → 2 → 4 → 8 → 16) and repacks; widths always divide 64. */
+        private void grow() {
+            int oldBits = bits;
+            long[] oldData = data;
+            bits = oldBits * 2;
+            if (bits > 16) throw new IllegalStateException("Too many distinct blocks in one chunk section");
+            data = new long[4096 * bits / 64];
+            long oldMask = (1L << oldBits) - 1;
+            for (int i = 0; i < 4096; i++) {
+                int bit = i * oldBits;
+                setIndex(i, (int) ((oldData[bit >>> 6] >>> (bit & 63)) & oldMask));
+            }
+        }
+
+        long sizeBytes() {
+            return data.length * 8L + palette.size() * 32L;
+        }
+    }
+
+    private final CuboidRegion region;
+    private final Long2ObjectOpenHashMap<Section> sections = new Long2ObjectOpenHashMap<>();
+    private BlockVector3 origin;
+
+    public SparseClipboard(Region region) {
+        this.region = new CuboidRegion(region.getWorld(), region.getMinimumPoint(), region.getMaximumPoint());
+        this.origin = region.getMinimumPoint();
+    }
+
+    // ── Clipboard ──
+
+    @Override
+    public Region getRegion() {
+        return region.clone();
+    }
+
+    @Override
+    public BlockVector3 getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public void setOrigin(BlockVector3 origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public BlockVector3 getDimensions() {
+        return region.getMaximumPoint().subtract(region.getMinimumPoint()).add(1, 1, 1);
+    }
+
+    @Override
+    public boolean hasBiomes() {
+        return false;
+    }
+
+    // ── Extent ──
+
+    @Override
+    public BlockVector3 getMinimumPoint() {
+        return region.getMinimumPoint();
+    }
+
+    @Override
+    public BlockVector3 getMaximumPoint() {
+        return region.getMaximumPoint();
+    }
+
+    @Override
+    public List<? extends Entity> getEntities(Region region) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<? extends Entity> getEntities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Entity createEntity(Location location, BaseEntity entity) {
+        return null;
+    }
+
+    @Override
+    public BlockState getBlock(BlockVector3 position) {
+        return getFullBlock(position).toImmutableState();
+    }
+
+    @Override
+    public BaseBlock getFullBlock(BlockVector3 position) {
+        Section section = sections.get(sectionKey(position));
+        return section == null ? AIR : section.get(index(position));
+    }
+
+    @Override
+    public <T extends BlockStateHolder<T>> boolean setBlock(BlockVector3 position, T block) {
+        if (!region.contains(position)) return false;
+
+        long key = sectionKey(position);
+        boolean air = block.getBlockType().getMaterial().isAir();
+        Section section = sections.get(key);
+        if (section == null) {
+            if (air) return true;   // already air, nothing to store
+            section = new Section();
+            sections.put(key, section);
+        }
+
+        section.set(index(position), block.toBaseBlock(), air);
+        if (section.nonAir == 0) sections.remove(key);
+        return true;
+    }
+
+    /** Biomes are not kept; everything reads as plains so biome-copying operations still work. */
+    @Override
+    public BiomeType getBiome(BlockVector3 position) {
+        return BiomeTypes.PLAINS;
+    }
+
+    @Override
+    public boolean setBiome(BlockVector3 position, BiomeType biome) {
+        return false;
+    }
+
+    /** Nothing is buffered, so there is nothing to commit; returns an empty operation rather than null. */
+    @Override
+    public Operation commit() {
+        return new OperationQueue();
+    }
+
+    // ── Sparse access ──
+
+    /** Packed {@link SectionPos} keys of every stored (non-empty) section. */
+    public LongSet getSectionKeys() {
+        return sections.keySet();
+    }
+
+    /** Number of non-air blocks held. */
+    public long getBlockCount() {
+        long n = 0;
+        for (Section s : sections.values()) n += s.nonAir;
+        return n;
+    }
+
+    /** Approximate heap used by block data, for logging. */
+    public long getSizeBytes() {
+        long n = 0;
+        for (Section s : sections.values()) n += s.sizeBytes();
+        return n;
+    }
+
+    private static long sectionKey(BlockVector3 p) {
+        return SectionPos.asLong(p.x() >> 4, p.y() >> 4, p.z() >> 4);
+    }
+
+    private static int index(BlockVector3 p) {
+        return ((p.y() & 15) << 8) | ((p.z() & 15) << 4) | (p.x() & 15);
+    }
+}
@@ -1,7 +1,10 @@
 package com.vibebuild.session;
 
+import com.vibebuild.dimension.PlotAllocator;
+import com.vibebuild.dimension.StagingBuffer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
 
@@ -20,7 +23,8 @@ public class BuildSession {
         PLANNING,    // server is producing a plan
         BUILDING,    // executor is running tool calls
         REVIEWING,   // build done, player reviewing in build world
-        PREVIEWING   // player confirmed, back home, ghost preview active
+        PREVIEWING,  // player confirmed, back home, ghost preview active
+        PASTING      // placement confirmed, paced paste in progress
     }
 
     // Player identity
@@ -42,14 +46,37 @@ public class BuildSession {
 
     // ── Build state ──
 
-    public BlockPos buildOrigin;   // matches plan.origin from the server
-    public BlockPos buildMin;      // bounding box min (populated during build)
-    public BlockPos buildMax;      // bounding box max (populated during build)
+    public BlockPos buildOrigin;   // plan.origin from the server, moved into the plot
+    public BlockPos buildMin;      // bounding box min (synced from dirty during build)
+    public BlockPos buildMax;      // bounding box max (synced from dirty during build)
+
+    /** This session's plot in the build dimension, held from session start until confirm/cancel. */
+    public PlotAllocator.Plot plot;
+
+    /** Added to the plan's X/Z coordinates to move them into {@link #plot}. */
+    public int plotOffsetX, plotOffsetZ;
+
+    /** Centre chunk and radius of the pre-warm ticket placed for the plan, or null if none is held. */
+    public ChunkPos prewarmCenter;
+    public int prewarmRadius;
+
+    /** Exact set of blocks/sections changed by this session's tool calls. */
+    public final DirtyRegion dirty = new DirtyRegion();
+
+    /** Tool writes staged in memory until the next step boundary flushes them to the build dimension. */
+    public final StagingBuffer staging = new StagingBuffer();
 
     /** True after the first reposition to face the build. Prevents repeated teleports. */
     public boolean hasBeenPositioned = false;
 
+    /** Wall-clock time of the last command or server message; idle sessions are reaped from this. */
+    public volatile long lastActiveMs = System.currentTimeMillis();
+
     public BuildSession(String playerName) {
         this.playerName = playerName;
     }
+
+    public void touch() {
+        lastActiveMs = System.currentTimeMillis();
+    }
 }
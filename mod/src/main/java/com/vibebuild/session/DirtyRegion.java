@@ -0,0 +1,54 @@
+package com.vibebuild.session;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+
+/**
+ * The blocks a session has actually changed: an exact min/max box plus the set
+ * of chunk sections that hold at least one changed block.
+ *
+ * Fed by the build-dimension EditSession hook, so it reflects real writes rather
+ * than guesses from tool arguments.
+ */
+public class DirtyRegion {
+
+    private final LongOpenHashSet sections = new LongOpenHashSet();
+    private int minX, minY, minZ, maxX, maxY, maxZ;
+    private boolean empty = true;
+
+    public synchronized void add(int x, int y, int z) {
+        if (empty) {
+            minX = maxX = x;
+            minY = maxY = y;
+            minZ = maxZ = z;
+            empty = false;
+        } else {
+            if (x < minX) minX = x; else if (x > maxX) maxX = x;
+            if (y < minY) minY = y; else if (y > maxY) maxY = y;
+            if (z < minZ) minZ = z; else if (z > maxZ) maxZ = z;
+        }
+        sections.add(SectionPos.asLong(x >> 4, y >> 4, z >> 4));
+    }
+
+    public synchronized void add(BlockPos pos) {
+        add(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public synchronized boolean isEmpty() { return empty; }
+
+    /** Exact minimum corner of the changed blocks, or null if nothing changed. */
+    public synchronized BlockPos getMin() { return empty ? null : new BlockPos(minX, minY, minZ); }
+
+    /** Exact maximum corner of the changed blocks, or null if nothing changed. */
+    public synchronized BlockPos getMax() { return empty ? null : new BlockPos(maxX, maxY, maxZ); }
+
+    /** Snapshot of the packed {@link SectionPos} keys of every dirty chunk section. */
+    public synchronized LongSet getSections() { return new LongOpenHashSet(sections); }
+
+    public synchronized void clear() {
+        sections.clear();
+        empty = true;
+    }
+}
@@ -0,0 +1,149 @@
+package com.vibebuild.session;
+
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
+import com.vibebuild.executor.BuildQuotas;
+import com.vibebuild.network.VbConnection;
+import com.vibebuild.network.VbWebSocketClient;
+import net.minecraft.commands.Commands;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates build sessions on demand and reaps the ones nobody is using.
+ *
+ * A session (and its channel on the shared {@link VbConnection}) is opened the
+ * first time a player runs a /vb command that needs the backend, not when they
+ * join. A session that has sat in CONNECTED/IDLE outside the build dimension for
+ * longer than {@link VbConfig#SESSION_IDLE_TIMEOUT_SECONDS} is closed; the next
+ * /vb command simply opens a new one.
+ */
+public class SessionManager {
+
+    /** Ticks between idle sweeps. */
+    private static final int REAP_INTERVAL_TICKS = 20;
+
+    private final Map<String, BuildSession>      sessions = new ConcurrentHashMap<>();
+    private final Map<String, VbWebSocketClient> channels = new ConcurrentHashMap<>();
+
+    private final VbConnection connection;
+    private final long idleTimeoutMs = VbConfig.SESSION_IDLE_TIMEOUT_SECONDS * 1000L;
+
+    private MinecraftServer server;
+    private int  ticksUntilReap = REAP_INTERVAL_TICKS;
+    private long reaped         = 0;
+
+    public SessionManager(VbConnection connection) {
+        this.connection = connection;
+    }
+
+    public void setServer(MinecraftServer server) {
+        this.server = server;
+    }
+
+    public Map<String, BuildSession> getSessions() {
+        return sessions;
+    }
+
+    public BuildSession get(String playerName) {
+        return sessions.get(playerName);
+    }
+
+    public VbWebSocketClient getChannel(String playerName) {
+        return channels.get(playerName);
+    }
+
+    // ── Open / close ──
+
+    /**
+     * Returns the player's session, opening it (and attaching its channel to the
+     * shared connection) if there is none. A session whose connection dropped is
+     * re-attached so the command that asked for it can go through.
+     */
+    public BuildSession getOrCreate(ServerPlayer player) {
+        String name = player.getName().getString();
+        BuildSession session = sessions.get(name);
+        if (session == null) {
+            session = new BuildSession(name);
+            VbWebSocketClient channel = new VbWebSocketClient(
+                    connection,
+                    () -> server.getPlayerList().getPlayerByName(name),
+                    session
+            );
+            sessions.put(name, session);
+            channels.put(name, channel);
+            Vibebuild.getInstance().getIncrementalExecutor().getQuotas().setDefaultPriority(name,
+                    player.hasPermissions(Commands.LEVEL_GAMEMASTERS) ? BuildQuotas.Priority.HIGH : BuildQuotas.Priority.NORMAL);
+            channel.connect();
+            Vibebuild.LOGGER.info("[VB] Opened session for {} ({} live)", name, sessions.size());
+        } else if (!connection.isOpen()) {
+            if (session.phase == BuildSession.Phase.IDLE) session.phase = BuildSession.Phase.CONNECTED;
+            channels.get(name).connect();
+        }
+        session.touch();
+        return session;
+    }
+
+    /** Closes the player's session and detaches its channel. Returns the session, or null if there was none. */
+    public BuildSession close(String playerName) {
+        VbWebSocketClient channel = channels.remove(playerName);
+        BuildSession session = sessions.remove(playerName);
+        if (channel != null) channel.close();
+        return session;
+    }
+
+    public void closeAll() {
+        channels.values().forEach(VbWebSocketClient::close);
+        channels.clear();
+        sessions.clear();
+    }
+
+    // ── Idle reaping ──
+
+    /** Called at the end of every server tick; sweeps for idle sessions once a second. */
+    public void tick() {
+        if (idleTimeoutMs <= 0 || --ticksUntilReap > 0) return;
+        ticksUntilReap = REAP_INTERVAL_TICKS;
+
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, BuildSession>> it = sessions.entrySet().iterator();
+        while (it.hasNext()) {
+            BuildSession session = it.next().getValue();
+            if (!isIdle(session) || now - session.lastActiveMs < idleTimeoutMs) continue;
+
+            it.remove();
+            VbWebSocketClient channel = channels.remove(session.playerName);
+            if (channel != null) channel.close();
+            reaped++;
+            Vibebuild.LOGGER.info("[VB] Reaped idle session for {} ({} live)", session.playerName, sessions.size());
+        }
+    }
+
+    /** True if the session holds nothing worth keeping: no build in flight and the player is home. */
+    private static boolean isIdle(BuildSession session) {
+        return !session.inVibeWorldSession
+                && (session.phase == BuildSession.Phase.CONNECTED || session.phase == BuildSession.Phase.IDLE);
+    }
+
+    // ── Stats ──
+
+    public int getLiveCount() {
+        return sessions.size();
+    }
+
+    public int getIdleCount() {
+        int n = 0;
+        for (BuildSession session : sessions.values()) {
+            if (isIdle(session)) n++;
+        }
+        return n;
+    }
+
+    public long getReapedCount() {
+        return reaped;
+    }
+}
@@ -0,0 +1,126 @@
+package com.vibebuild.session;
+
+import com.vibebuild.VbConfig;
+import com.vibebuild.Vibebuild;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs work posted by WebSocket sessions on the server thread, once per tick.
+ *
+ * Handlers no longer hand each chat line, phase change and tool call to the
+ * server's own task queue. They post to a per-player queue here instead, and
+ * the end of every tick drains those queues round-robin, one task per player
+ * per pass, until {@link VbConfig#SESSION_TASK_BUDGET_MS} is spent. Whatever is
+ * left waits for the next tick, so a burst from many builders is spread out
+ * rather than run in one go ahead of the tick. Tasks of one player always run
+ * in the order they were posted.
+ *
+ * {@link #post} may be called from any thread; {@link #tick} runs on the server
+ * thread.
+ */
+public class SessionTaskScheduler {
+
+    private final long budgetNanos = VbConfig.SESSION_TASK_BUDGET_MS * 1_000_000L;
+
+    private final Map<String, Queue<Runnable>> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /** Rotates which player goes first, so a budget that runs out early does not always favour the same ones. */
+    private int startOffset = 0;
+
+    private volatile int  peakDepth        = 0;
+    private volatile int  deferredLastTick = 0;
+    private volatile long deferredTotal    = 0;
+    private volatile long ranTotal         = 0;
+
+    /** Queues a task for the player's next turn on the server thread. */
+    public void post(String owner, Runnable task) {
+        // Counted before it is published, so the tick that runs it never takes depth below zero
+        int now = depth.incrementAndGet();
+        if (now > peakDepth) peakDepth = now;
+        queues.compute(owner, (k, queue) -> {
+            if (queue == null) queue = new ConcurrentLinkedQueue<>();
+            queue.add(task);
+            return queue;
+        });
+    }
+
+    /** Called at the end of every server tick. Always runs at least one task if any are queued. */
+    public void tick() {
+        if (depth.get() == 0) {
+            deferredLastTick = 0;
+            return;
+        }
+
+        List<String> owners = new ArrayList<>(queues.keySet());
+        int n = owners.size();
+        int offset = startOffset++ % Math.max(1, n);
+
+        long start = System.nanoTime();
+        boolean ranOne = false;
+        boolean more = true;
+        outer:
+        while (more) {
+            more = false;
+            for (int i = 0; i < n; i++) {
+                if (ranOne && System.nanoTime() - start >= budgetNanos) break outer;
+
+                String owner = owners.get((offset + i) % n);
+                Queue<Runnable> queue = queues.get(owner);
+                Runnable task = queue != null ? queue.poll() : null;
+                if (task == null) continue;
+
+                depth.decrementAndGet();
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    Vibebuild.LOGGER.error("[VB] Session task for {} crashed: {}", owner, e.getMessage(), e);
+                }
+                ranOne = true;
+                ranTotal++;
+                if (!queue.isEmpty()) more = true;
+            }
+        }
+
+        // Forget players with nothing left; compute() keeps this atomic with post()
+        for (String owner : owners) {
+            queues.computeIfPresent(owner, (k, queue) -> queue.isEmpty() ? null : queue);
+        }
+
+        int deferred = depth.get();
+        deferredLastTick = deferred;
+        deferredTotal   += deferred;
+    }
+
+    // ── Stats ──
+
+    /** Tasks waiting across all players. */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    public int getPeakQueueDepth() {
+        return peakDepth;
+    }
+
+    /** Tasks still queued when the last tick's budget ran out. */
+    public int getDeferredLastTick() {
+        return deferredLastTick;
+    }
+
+    /** Sum of {@link #getDeferredLastTick()} over every tick; grows while the scheduler is behind. */
+    public long getDeferredTotal() {
+        return deferredTotal;
+    }
+
+    public long getRanTotal() {
+        return ranTotal;
+    }
+}
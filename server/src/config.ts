@@ -4,6 +4,11 @@ import { anthropicText } from "@tanstack/ai-anthropic";
 export const wsPort = Number.parseInt(process.env.PORT ?? "8080", 10);
 export const webPort = Number.parseInt(process.env.WEB_PORT ?? "8787", 10);
 export const webHost = process.env.WEB_HOST?.trim() || "0.0.0.0";
+/** How long a session with a build in flight survives its mod socket dropping. */
+export const resumeGraceMs = Number.parseInt(
+	process.env.RESUME_GRACE_MS ?? "60000",
+	10,
+);
 
 export const adapter: AnyTextAdapter = anthropicText("claude-opus-4-6");
 export const imageAdapter: AnyTextAdapter = anthropicText("claude-sonnet-4-5");
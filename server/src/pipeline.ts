@@ -1,5 +1,4 @@
 import { chat } from "@tanstack/ai";
-import type { WebSocket } from "ws";
 import executorPrompt from "../prompts/executor.system.txt";
 import finalizerPrompt from "../prompts/finalizer.system.txt";
 import plannerPrompt from "../prompts/planner.system.txt";
@@ -7,12 +6,13 @@ import spatialprefixPrompt from "../prompts/spatialprefix.system.txt";
 import { adapter } from "./config";
 import { type Plan, planSchema, submitPlanTool } from "./schema";
 import { allWorldEditTools as allTools } from "./tools";
-import type { Session } from "./types";
+import { resetToolCalls } from "./session";
+import type { Channel, Session } from "./types";
 import { sendError } from "./utils";
 
 export const runPromptPipeline = async (
 	session: Session,
-	ws: WebSocket,
+	channel: Channel,
 	prompt: string,
 	playerPos: { x: number; y: number; z: number },
 ) => {
@@ -20,6 +20,7 @@ export const runPromptPipeline = async (
 		throw new Error("Build already in progress for this session.");
 	}
 	session.processingPrompt = true;
+	resetToolCalls(session);
 
 	try {
 		let totalToolCount = 0;
@@ -32,12 +33,10 @@ export const runPromptPipeline = async (
 		};
 		const flushText = () => {
 			if (textBuffer) {
-				ws.send(
-					JSON.stringify({
-						type: "text_content_complete",
-						content: textBuffer,
-					}),
-				);
+				channel.send({
+					type: "text_content_complete",
+					content: textBuffer,
+				});
 				textBuffer = "";
 			}
 		};
@@ -45,7 +44,7 @@ export const runPromptPipeline = async (
 		// ── STAGE 1: PLANNER ──
 		console.log(`\n[PLANNER] Starting planner...`);
 		console.log(`[PLANNER] Sending prompt to claude-opus-4-6`);
-		ws.send(JSON.stringify({ type: "thinking" }));
+		channel.send({ type: "thinking" });
 
 		let planArgsJson = "";
 		const plannerTool = submitPlanTool.server(async () => ({
@@ -84,7 +83,7 @@ export const runPromptPipeline = async (
 			if (chunk.type === "TEXT_MESSAGE_CONTENT") {
 				process.stdout.write(chunk.delta);
 				bufferDelta(chunk.delta);
-				ws.send(JSON.stringify({ type: "delta", content: chunk.delta }));
+				channel.send({ type: "delta", content: chunk.delta });
 			} else if (chunk.type === "TOOL_CALL_START") {
 				flushText();
 				currentToolName = (chunk as { toolName?: string }).toolName ?? "";
@@ -138,15 +137,20 @@ export const runPromptPipeline = async (
 			);
 		}
 
-		ws.send(
-			JSON.stringify({
-				type: "plan_ready",
-				origin: plan.origin,
-				stepCount: plan.steps.length,
-			}),
-		);
+		channel.send({
+			type: "plan_ready",
+			origin: plan.origin,
+			stepCount: plan.steps.length,
+		});
 
 		// ── STAGE 2: EXECUTOR ──
+		// Failures of pipelined calls that the model has not been told about yet.
+		const lateFailures: string[] = [];
+		const takeLateFailures = () =>
+			lateFailures.length
+				? ` Earlier queued commands failed: ${lateFailures.splice(0).join("; ")}`
+				: "";
+
 		console.log(`\n${"─".repeat(60)}`);
 		console.log(
 			`[EXECUTOR] Starting execution of ${plan.steps.length} features`,
@@ -169,51 +173,95 @@ export const runPromptPipeline = async (
 			console.log(
 				`\n[STEP ${stepIndex}/${totalSteps}] ▶ ${step.id}: ${step.feature}`,
 			);
-			ws.send(
-				JSON.stringify({
-					type: "step",
-					content: `[${stepIndex}/${totalSteps}] ${step.feature}`,
-				}),
-			);
+			channel.send({
+				type: "step",
+				content: `[${stepIndex}/${totalSteps}] ${step.feature}`,
+			});
+
+			// Calls issued in the same turn are coalesced into one tool_batch so the
+			// mod runs them in a single EditSession and answers in one round trip.
+			const outgoing: {
+				toolCallId: string;
+				seq: number;
+				name: string;
+				args: unknown;
+			}[] = [];
+			const dispatchToolCall = (call: (typeof outgoing)[number]) => {
+				outgoing.push(call);
+				if (outgoing.length > 1) return;
+				setImmediate(() => {
+					const calls = outgoing.splice(0);
+					if (calls.length === 1) {
+						channel.send({ type: "tool_call", ...calls[0] });
+						return;
+					}
+					console.log(`  [BATCH] Sending ${calls.length} calls in one batch`);
+					channel.send({
+						type: "tool_batch",
+						batchId: crypto.randomUUID(),
+						calls,
+					});
+				});
+			};
+
+			// Calls the mod has not answered yet. With a window above 1 the model
+			// gets a "queued" reply right away and only waits once the window is
+			// full; the mod applies calls in seq order, and failures are reported
+			// with a later reply (or in the next step's prompt).
+			const inFlight = new Set<Promise<unknown>>();
 
 			// Wrap tools to forward calls to the mod.
 			const tStep = performance.now();
 			const tools = allTools.map((toolDef) =>
 				toolDef.server(async (args) => {
 					const toolCallId = crypto.randomUUID();
+					const seq = session.nextToolSeq++;
 					stepToolCount++;
 					totalToolCount++;
 					console.log(
 						`  [TOOL #${stepToolCount}] ${toolDef.name}(${JSON.stringify(args)})`,
 					);
 
-					ws.send(
-						JSON.stringify({
-							type: "tool_call",
-							toolCallId,
-							name: toolDef.name,
-							args,
-						}),
-					);
-
-					console.log(
-						`  [WAITING] Waiting for mod to execute ${toolDef.name}...`,
-					);
-					const rawResult = await new Promise<string>((resolve) => {
+					const pending = new Promise<string>((resolve) => {
 						session.pendingToolCalls.set(toolCallId, resolve);
+					}).then((rawResult) => {
+						let result: { success?: boolean; message?: string };
+						try {
+							result = JSON.parse(rawResult);
+						} catch {
+							result = { success: false, message: "Invalid JSON" };
+						}
+						const status = result.success !== false ? "OK" : "FAIL";
+						console.log(
+							`  [${status}] #${seq} ${toolDef.name} -> ${result.message ?? ""}`,
+						);
+						return result;
 					});
+					dispatchToolCall({ toolCallId, seq, name: toolDef.name, args });
 
-					let result: { success?: boolean; message?: string };
-					try {
-						result = JSON.parse(rawResult);
-					} catch {
-						result = { success: false, message: "Invalid JSON" };
+					if (session.toolWindow <= 1) {
+						console.log(
+							`  [WAITING] Waiting for mod to execute ${toolDef.name}...`,
+						);
+						return pending;
 					}
-					const status = result.success !== false ? "OK" : "FAIL";
-					console.log(
-						`  [${status}] ${toolDef.name} -> ${result.message ?? ""}`,
-					);
-					return result;
+
+					const tracked = pending.then((result) => {
+						inFlight.delete(tracked);
+						if (result.success === false) {
+							lateFailures.push(
+								`#${seq} ${toolDef.name}: ${result.message ?? "failed"}`,
+							);
+						}
+					});
+					inFlight.add(tracked);
+					while (inFlight.size >= session.toolWindow) {
+						await Promise.race(inFlight);
+					}
+					return {
+						success: true,
+						message: `Queued as #${seq}; the mod applies commands in order.${takeLateFailures()}`,
+					};
 				}),
 			);
 
@@ -229,6 +277,11 @@ export const runPromptPipeline = async (
 						)
 						.join(" | ") || "none"
 				}`,
+				...(lateFailures.length
+					? [
+							`Failed commands from the previous step: ${lateFailures.splice(0).join("; ")}`,
+						]
+					: []),
 				``,
 				`Current step (${stepIndex}/${totalSteps}):`,
 				`Feature: ${step.feature}`,
@@ -262,6 +315,12 @@ export const runPromptPipeline = async (
 			flushText();
 			if (aiText) console.log();
 
+			// Step boundary: everything queued must land before the next step plans on it
+			if (inFlight.size > 0) {
+				console.log(`  [DRAIN] Waiting for ${inFlight.size} queued commands...`);
+				await Promise.all(inFlight);
+			}
+
 			const stepMs = performance.now() - tStep;
 			console.log(
 				`  [STEP DONE] ${stepToolCount} commands in ${(stepMs / 1000).toFixed(1)}s (running total: ${totalToolCount})`,
@@ -301,9 +360,7 @@ export const runPromptPipeline = async (
 			`[FINALIZER] "${finalText.trim()}" (${((performance.now() - tFinalizer) / 1000).toFixed(1)}s)`,
 		);
 		if (finalText) {
-			ws.send(
-				JSON.stringify({ type: "text_content_complete", content: finalText }),
-			);
+			channel.send({ type: "text_content_complete", content: finalText });
 		}
 
 		const elapsed = ((performance.now() - t0) / 1000).toFixed(1);
@@ -312,16 +369,14 @@ export const runPromptPipeline = async (
 			`[DONE] ${totalToolCount} commands across ${plan.steps.length} features in ${elapsed}s`,
 		);
 		console.log(`${"=".repeat(60)}\n`);
-		ws.send(
-			JSON.stringify({
-				type: "done",
-				toolCount: totalToolCount,
-				completedSteps: plan.steps.length,
-			}),
-		);
+		channel.send({
+			type: "done",
+			toolCount: totalToolCount,
+			completedSteps: plan.steps.length,
+		});
 	} catch (err: unknown) {
 		console.error("[ERROR]", err);
-		sendError(ws, (err as Error).message);
+		sendError(channel, (err as Error).message);
 	} finally {
 		session.processingPrompt = false;
 	}
@@ -2,7 +2,7 @@ import * as QRCode from "qrcode";
 import { imageInputHtml, webPort } from "./config";
 import { generateBuildPromptFromImage } from "./image";
 import { runPromptPipeline } from "./pipeline";
-import { sessions, sessionsByPlayer, socketsBySession } from "./session";
+import { channelsBySession, sessions, sessionsByPlayer } from "./session";
 import { getLanIPv4, jsonResponse, parsePlayerPos } from "./utils";
 
 // ── Route handler type ──
@@ -82,8 +82,8 @@ const routes: Route[] = [
 				}
 
 				const session = sessions.get(sessionId);
-				const ws = socketsBySession.get(sessionId);
-				if (!session || !ws) {
+				const channel = channelsBySession.get(sessionId);
+				if (!session || !channel) {
 					return jsonResponse(404, {
 						error: "Player session was disconnected.",
 					});
@@ -109,7 +109,7 @@ const routes: Route[] = [
 				);
 				console.log(`${"=".repeat(60)}`);
 
-				void runPromptPipeline(session, ws, generatedPrompt, playerPos);
+				void runPromptPipeline(session, channel, generatedPrompt, playerPos);
 
 				return jsonResponse(200, {
 					message: "Prompt generated and sent to your game session.",
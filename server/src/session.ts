@@ -1,9 +1,144 @@
 import type { WebSocket } from "ws";
-import type { Session } from "./types";
+import { resumeGraceMs } from "./config";
+import type { Channel, Session } from "./types";
+import { getSuccessStatus } from "./utils";
 
 export const sessions = new Map<string, Session>();
 export const sessionsByPlayer = new Map<string, string>();
-export const socketsBySession = new Map<string, WebSocket>();
+export const channelsBySession = new Map<string, Channel>();
+
+/** Deltas are only a live preview; text_content_complete repeats them, so they are not worth holding. */
+const OUTBOX_SKIP = new Set(["delta"]);
+
+/**
+ * A channel that tags every message with the player name and writes it to the
+ * session's current socket. While the session is detached, messages wait in
+ * its outbox. Tool calls are remembered until resolved so a resume can resend
+ * the ones the mod never received.
+ */
+export const createChannel = (session: Session, playerName: string): Channel => ({
+	send: (msg) => {
+		trackToolCalls(session, msg);
+		const ws = session.socket;
+		if (!ws || ws.readyState !== ws.OPEN) {
+			if (!OUTBOX_SKIP.has(String(msg.type))) session.outbox.push(msg);
+			return;
+		}
+		ws.send(JSON.stringify({ ...msg, playerName }));
+	},
+});
+
+const trackToolCalls = (session: Session, msg: Record<string, unknown>) => {
+	const ids =
+		msg.type === "tool_call"
+			? [String(msg.toolCallId)]
+			: msg.type === "tool_batch" && Array.isArray(msg.calls)
+				? msg.calls.map((c: { toolCallId: string }) => c.toolCallId)
+				: [];
+	for (const id of ids) {
+		const seq = session.toolCallSeq.size;
+		session.toolCallSeq.set(id, seq);
+		session.unresolvedToolCalls.set(id, { seq, msg });
+	}
+};
+
+/** Resolves a pending tool call with the mod's result. Unknown or repeated ids are ignored. */
+export const resolveToolCall = (
+	session: Session,
+	toolCallId: string,
+	result: string,
+) => {
+	session.unresolvedToolCalls.delete(toolCallId);
+	const resolve = session.pendingToolCalls.get(toolCallId);
+	if (!resolve) return;
+	session.pendingToolCalls.delete(toolCallId);
+	resolve(result);
+};
+
+/** Forgets the previous prompt's tool calls; called when a new prompt starts. */
+export const resetToolCalls = (session: Session) => {
+	session.toolCallSeq.clear();
+	session.unresolvedToolCalls.clear();
+};
+
+// ── Detach / resume ──
+
+/**
+ * Keeps a session with a build in flight alive after its socket drops, so the
+ * mod can reconnect and resume it. Idle sessions are closed right away.
+ */
+export const detachSession = (session: Session) => {
+	if (!session.processingPrompt) {
+		closeSession(session);
+		return;
+	}
+	session.socket = undefined;
+	clearTimeout(session.detachTimer);
+	session.detachTimer = setTimeout(() => {
+		if (session.socket) return;
+		console.log(`[${session.id}] No resume within ${resumeGraceMs} ms`);
+		closeSession(session);
+	}, resumeGraceMs);
+	console.log(`[${session.id}] Detached, waiting for resume`);
+};
+
+/**
+ * Attaches a session to a new socket: flushes what was sent while detached,
+ * then resends unresolved tool calls issued after `lastToolCallId` (the last
+ * one the mod says it received). Results for calls it did receive are
+ * replayed by the mod.
+ */
+export const resumeSession = (
+	session: Session,
+	ws: WebSocket,
+	lastToolCallId: string | undefined,
+) => {
+	clearTimeout(session.detachTimer);
+	session.detachTimer = undefined;
+	session.socket = ws;
+
+	const channel = channelsBySession.get(session.id);
+	if (!channel) return;
+
+	const held = session.outbox.splice(0);
+	const lastSeq = lastToolCallId
+		? (session.toolCallSeq.get(lastToolCallId) ?? -1)
+		: -1;
+	const resend = new Set<Record<string, unknown>>();
+	for (const { seq, msg } of session.unresolvedToolCalls.values()) {
+		if (seq > lastSeq && !held.includes(msg)) resend.add(msg);
+	}
+
+	// Held messages and resends are already tracked; send them untracked
+	const playerName = session.playerName;
+	for (const msg of [...resend, ...held]) {
+		ws.send(JSON.stringify({ ...msg, playerName }));
+	}
+	console.log(
+		`[${session.id}] Resumed: ${held.length} held, ${resend.size} tool calls resent`,
+	);
+};
+
+/** Stops a session's build and removes it from every index. */
+export const closeSession = (session: Session) => {
+	session.cancelled = true;
+	clearTimeout(session.detachTimer);
+	for (const [_id, resolve] of session.pendingToolCalls) {
+		resolve(getSuccessStatus(false, "Player session closed"));
+	}
+	session.pendingToolCalls.clear();
+	session.socket = undefined;
+	session.outbox.length = 0;
+	resetToolCalls(session);
+	if (
+		session.playerName &&
+		sessionsByPlayer.get(session.playerName) === session.id
+	) {
+		sessionsByPlayer.delete(session.playerName);
+	}
+	channelsBySession.delete(session.id);
+	sessions.delete(session.id);
+};
 
 export const createSession = (id: string): Session => ({
 	id,
@@ -12,4 +147,11 @@ export const createSession = (id: string): Session => ({
 	plannerHistory: [],
 	cancelled: false,
 	processingPrompt: false,
+	socket: undefined,
+	outbox: [],
+	unresolvedToolCalls: new Map(),
+	toolCallSeq: new Map(),
+	nextToolSeq: 0,
+	toolWindow: 1,
+	detachTimer: undefined,
 });
@@ -1,3 +1,5 @@
+import type { WebSocket } from "ws";
+
 export interface Message {
 	role: "user" | "assistant";
 	content: string;
@@ -13,4 +15,23 @@ export interface Session {
 	cancelled: boolean;
 	/** Prevent overlapping prompt runs on the same player session. */
 	processingPrompt: boolean;
+	/** Mod socket the session is attached to; undefined while detached awaiting a resume. */
+	socket?: WebSocket;
+	/** Messages sent while detached, flushed in order on resume. */
+	outbox: Record<string, unknown>[];
+	/** Unresolved tool_call / tool_batch messages by toolCallId, resent on resume if the mod never got them. */
+	unresolvedToolCalls: Map<string, { seq: number; msg: Record<string, unknown> }>;
+	/** Send order of every toolCallId in the current prompt, used to interpret the mod's last received id. */
+	toolCallSeq: Map<string, number>;
+	/** Sequence number for the next tool call; the mod applies calls strictly in this order. */
+	nextToolSeq: number;
+	/** Tool calls the mod accepts outstanding at once (from its register); 1 means stop-and-wait. */
+	toolWindow: number;
+	/** Closes the session if no resume arrives within the grace period. */
+	detachTimer?: ReturnType<typeof setTimeout>;
+}
+
+/** Outgoing side of one player's session; messages are tagged with the player name. */
+export interface Channel {
+	send(msg: Record<string, unknown>): void;
 }
@@ -1,5 +1,5 @@
 import { networkInterfaces } from "node:os";
-import type { WebSocket } from "ws";
+import type { Channel } from "./types";
 
 export const getLanIPv4 = (): string | null => {
 	const interfaces = networkInterfaces();
@@ -30,6 +30,6 @@ export const jsonResponse = (status: number, body: unknown) =>
 		},
 	});
 
-export const sendError = (ws: WebSocket, content: string) => {
-	ws.send(JSON.stringify({ type: "error", content }));
+export const sendError = (channel: Channel, content: string) => {
+	channel.send({ type: "error", content });
 };
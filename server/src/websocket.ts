@@ -1,42 +1,127 @@
 import type { WebSocket } from "ws";
 import { runPromptPipeline } from "./pipeline";
 import {
+	channelsBySession,
+	closeSession,
+	createChannel,
 	createSession,
+	detachSession,
+	resolveToolCall,
+	resumeSession,
 	sessions,
 	sessionsByPlayer,
-	socketsBySession,
 } from "./session";
+import type { Session } from "./types";
 import { getSuccessStatus, parsePlayerPos, sendError } from "./utils";
 
+/**
+ * One socket per Minecraft server, multiplexing every player on it.
+ * Each message carries `playerName`; `register`/`unregister` open and close
+ * that player's session on this socket. A `register` with `resume` re-attaches
+ * a session left detached when a previous socket dropped mid-build.
+ */
 export const handleConnection = (ws: WebSocket) => {
-	const sessionId = crypto.randomUUID().slice(0, 8);
-	const session = createSession(sessionId);
-	sessions.set(sessionId, session);
-	socketsBySession.set(sessionId, ws);
-	console.log(`[${sessionId}] Client connected (${sessions.size} active)`);
+	const connectionId = crypto.randomUUID().slice(0, 8);
+	const playerSessions = new Map<string, Session>();
+	console.log(`[${connectionId}] Mod connected`);
+
+	const openSession = (playerName: string): Session => {
+		const existing = playerSessions.get(playerName);
+		if (existing) return existing;
+
+		const sessionId = crypto.randomUUID().slice(0, 8);
+		const session = createSession(sessionId);
+		session.playerName = playerName;
+		session.socket = ws;
+		sessions.set(sessionId, session);
+		sessionsByPlayer.set(playerName, sessionId);
+		channelsBySession.set(sessionId, createChannel(session, playerName));
+		playerSessions.set(playerName, session);
+		console.log(
+			`[${sessionId}] Registered player ${playerName} (${sessions.size} active)`,
+		);
+		return session;
+	};
+
+	/** Re-attaches a detached (or still half-open) session of this player, if it exists. */
+	const tryResume = (
+		playerName: string,
+		resume: { sessionId?: string; lastToolCallId?: string } | undefined,
+	): Session | undefined => {
+		const session = resume?.sessionId
+			? sessions.get(String(resume.sessionId))
+			: undefined;
+		if (!session || session.playerName !== playerName) return undefined;
+
+		playerSessions.set(playerName, session);
+		sessionsByPlayer.set(playerName, session.id);
+		resumeSession(session, ws, resume?.lastToolCallId);
+		return session;
+	};
 
 	ws.on("message", async (raw) => {
 		const msg = JSON.parse(raw.toString());
+		const playerName = String(msg.playerName ?? "").trim();
+		if (!playerName) {
+			console.warn(`[${connectionId}] Message without playerName dropped`);
+			return;
+		}
 
 		if (msg.type === "register") {
-			const playerName = String(msg.playerName ?? "").trim();
-			if (!playerName) {
-				sendError(ws, "Missing playerName in register message.");
-				return;
-			}
+			const resumed = tryResume(playerName, msg.resume);
+			const session = resumed ?? openSession(playerName);
+			session.toolWindow = Math.max(1, Math.floor(Number(msg.window) || 1));
+			ws.send(
+				JSON.stringify({
+					type: "registered",
+					playerName,
+					sessionId: session.id,
+					resumed: resumed !== undefined,
+				}),
+			);
+			return;
+		}
 
-			session.playerName = playerName;
-			sessionsByPlayer.set(playerName, sessionId);
-			console.log(`[${sessionId}] Registered player ${playerName}`);
+		const session = playerSessions.get(playerName);
+		if (!session) {
+			console.warn(
+				`[${connectionId}] ${msg.type} for unregistered player ${playerName}`,
+			);
+			return;
+		}
+		const channel = channelsBySession.get(session.id);
+		if (!channel) return;
+		const sessionId = session.id;
+
+		if (msg.type === "unregister") {
+			playerSessions.delete(playerName);
+			closeSession(session);
+			console.log(
+				`[${sessionId}] Unregistered player ${playerName} (${sessions.size} active)`,
+			);
 			return;
 		}
 
 		// Tool result from the mod.
+		// Replayed results after a resume may repeat; resolveToolCall ignores those.
 		if (msg.type === "tool_result" && msg.toolCallId) {
-			const resolve = session.pendingToolCalls.get(msg.toolCallId);
-			if (resolve) {
-				resolve(msg.result ?? getSuccessStatus(false, "Missing result"));
-				session.pendingToolCalls.delete(msg.toolCallId);
+			resolveToolCall(
+				session,
+				msg.toolCallId,
+				msg.result ?? getSuccessStatus(false, "Missing result"),
+			);
+			return;
+		}
+
+		// Per-call results for a tool_batch.
+		if (msg.type === "tool_batch_result" && Array.isArray(msg.results)) {
+			for (const entry of msg.results) {
+				if (!entry?.toolCallId) continue;
+				resolveToolCall(
+					session,
+					entry.toolCallId,
+					entry.result ?? getSuccessStatus(false, "Missing result"),
+				);
 			}
 			return;
 		}
@@ -57,7 +142,7 @@ export const handleConnection = (ws: WebSocket) => {
 
 		const prompt = String(msg.content ?? "").trim();
 		if (!prompt) {
-			sendError(ws, "Prompt cannot be empty.");
+			sendError(channel, "Prompt cannot be empty.");
 			return;
 		}
 
@@ -76,19 +161,21 @@ export const handleConnection = (ws: WebSocket) => {
 		// Reset cancel flag at the start of each prompt
 		session.cancelled = false;
 		if (session.processingPrompt) {
-			sendError(ws, "Build already in progress. Wait or cancel first.");
+			sendError(channel, "Build already in progress. Wait or cancel first.");
 			return;
 		}
 
-		void runPromptPipeline(session, ws, prompt, playerPos);
+		void runPromptPipeline(session, channel, prompt, playerPos);
 	});
 
 	ws.on("close", () => {
-		if (session.playerName) {
-			sessionsByPlayer.delete(session.playerName);
+		// Sessions already resumed on a newer socket are not ours to detach
+		for (const session of playerSessions.values()) {
+			if (session.socket === ws) detachSession(session);
 		}
-		socketsBySession.delete(sessionId);
-		sessions.delete(sessionId);
-		console.log(`[${sessionId}] Client disconnected (${sessions.size} active)`);
+		playerSessions.clear();
+		console.log(
+			`[${connectionId}] Mod disconnected (${sessions.size} sessions active)`,
+		);
 	});
 };